@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reusing event data carriers through
+ * {@link ForgeToSpongeEventData#acquire} with allocating one per event. Run
+ * with {@code -prof gc}, the pooled benchmarks should stay at 0 bytes per
+ * operation, including nested posts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:-EliminateAllocations")
+public class ForgeToSpongeEventDataBenchmark {
+
+    private final Event event = new Event();
+    private final IEventListener[] listeners = new IEventListener[0];
+
+    @Setup
+    public void setUp() {
+        StubGame.install();
+    }
+
+    @Benchmark
+    public boolean allocate() {
+        final ForgeToSpongeEventData eventData = new ForgeToSpongeEventData(this.event, this.listeners, true);
+        eventData.setBeforeModifications(true);
+        return eventData.isBeforeModifications();
+    }
+
+    @Benchmark
+    public boolean acquireRelease() {
+        final ForgeToSpongeEventData eventData = ForgeToSpongeEventData.acquire(this.event, this.listeners, true);
+        try {
+            eventData.setBeforeModifications(true);
+            return eventData.isBeforeModifications();
+        } finally {
+            eventData.release();
+        }
+    }
+
+    @Benchmark
+    public boolean acquireReleaseNested() {
+        final ForgeToSpongeEventData outer = ForgeToSpongeEventData.acquire(this.event, this.listeners, true);
+        try {
+            // A listener posting another event
+            final ForgeToSpongeEventData inner = ForgeToSpongeEventData.acquire(this.event, this.listeners, true);
+            try {
+                return inner != outer;
+            } finally {
+                inner.release();
+            }
+        } finally {
+            outer.release();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.fml.common.ModContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.EventType;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.mod.bridge.fml.LoadControllerBridge_Forge;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Posts an event to the plugin listeners of a {@link RegisteredListener.Cache}
+ * through the dispatch loop of {@link SpongeModEventManager}, once through
+ * the slices of its {@link SpongeEventDispatchPlan} and once through the
+ * listener lists by order, as the event manager did before.
+ *
+ * <p>The cause stack of {@link StubGame} doesn't do anything, so the cause
+ * stack variants only measure the overhead of the dispatch loop itself.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpongeEventDispatchPlanBenchmark {
+
+    @Param({"0", "1", "10", "100"})
+    public int listenerCount;
+
+    @Param({"4"})
+    public int pluginCount;
+
+    @Param({"false", "true"})
+    public boolean useCauseStackManager;
+
+    private final TestEvent event = new TestEvent();
+    private final Map<PluginContainer, ModContainer> containers = new IdentityHashMap<>();
+    private final Function<PluginContainer, ModContainer> containerLookup = this.containers::get;
+    private LoadControllerBridge_Forge controller;
+    private RegisteredListener.Cache cache;
+    private SpongeEventDispatchPlan.Slice[] byOrder;
+
+    @Setup
+    public void setUp() {
+        StubGame.install();
+        final Order[] orders = Order.values();
+        final PluginContainer[] plugins = new PluginContainer[this.pluginCount];
+        for (int i = 0; i < plugins.length; i++) {
+            final String id = "plugin" + i;
+            plugins[i] = () -> id;
+            // Plugins are their own mod containers in SpongeForge, which can't be stubbed by a single class
+            this.containers.put(plugins[i], (ModContainer) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ModContainer.class}, (proxy, method, args) -> null));
+        }
+        final EventType<TestEvent> eventType = new EventType<>(TestEvent.class);
+        final List<RegisteredListener<?>> listeners = new ArrayList<>(this.listenerCount);
+        for (int i = 0; i < this.listenerCount; i++) {
+            listeners.add(new RegisteredListener<>(plugins[i % plugins.length], eventType, orders[i % orders.length],
+                event -> event.handled++, i % 3 == 0));
+        }
+        this.cache = new RegisteredListener.Cache(listeners);
+        this.controller = new LoadControllerBridge_Forge() {
+
+            private ModContainer container;
+
+            @Override
+            public ModContainer forgeBridge$getActiveModContainer() {
+                return this.container;
+            }
+
+            @Override
+            public void forgeBridge$setActiveModContainer(final ModContainer container) {
+                this.container = container;
+            }
+        };
+        // Created once per cache in the event manager as well
+        SpongeEventDispatchPlan.of(this.cache);
+        this.byOrder = new SpongeEventDispatchPlan.Slice[orders.length];
+        for (int i = 0; i < orders.length; i++) {
+            this.byOrder[i] = new SpongeEventDispatchPlan.Slice(this.cache.getListenersByOrder(orders[i]), listener -> true);
+        }
+    }
+
+    /**
+     * A sponge event without forge listeners, as posted by
+     * {@code SpongeModEventManager#extendedPost}.
+     */
+    @Benchmark
+    public boolean forced() {
+        final SpongeEventDispatchPlan plan = SpongeEventDispatchPlan.of(this.cache);
+        return SpongeModEventManager.post(this.controller, this.containerLookup, this.event, plan.getSlice(false, true), this.useCauseStackManager);
+    }
+
+    /**
+     * A bridged event, posted before and after mods modified it.
+     */
+    @Benchmark
+    public boolean beforeAndAfterModifications() {
+        final SpongeEventDispatchPlan plan = SpongeEventDispatchPlan.of(this.cache);
+        SpongeModEventManager.post(this.controller, this.containerLookup, this.event, plan.getSlice(true, false), this.useCauseStackManager);
+        return SpongeModEventManager.post(this.controller, this.containerLookup, this.event, plan.getSlice(false, false), this.useCauseStackManager);
+    }
+
+    /**
+     * The forced post with a pass per order, like the event manager posted
+     * before the dispatch plans.
+     */
+    @Benchmark
+    public boolean forcedByOrder() {
+        boolean cancelled = false;
+        for (final SpongeEventDispatchPlan.Slice slice : this.byOrder) {
+            cancelled = SpongeModEventManager.post(this.controller, this.containerLookup, this.event, slice, this.useCauseStackManager);
+        }
+        return cancelled;
+    }
+
+    public static final class TestEvent implements Event, Cancellable {
+
+        int handled;
+        private boolean cancelled;
+
+        @Override
+        public Cause getCause() {
+            return null;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(final boolean cancel) {
+            this.cancelled = cancel;
+        }
+    }
+}
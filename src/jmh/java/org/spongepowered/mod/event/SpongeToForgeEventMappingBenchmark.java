@@ -0,0 +1,135 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.action.CollideEvent;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.block.InteractBlockEvent;
+import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
+import org.spongepowered.api.event.data.ChangeDataHolderEvent;
+import org.spongepowered.api.event.entity.DestructEntityEvent;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.statistic.ChangeStatisticEvent;
+import org.spongepowered.api.event.world.ExplosionEvent;
+import org.spongepowered.api.event.world.LoadWorldEvent;
+import org.spongepowered.api.event.world.UnloadWorldEvent;
+import org.spongepowered.api.event.world.chunk.LoadChunkEvent;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares resolving the forge event class of sponge events through the
+ * cached {@link SpongeToForgeEventMapping} with the instanceof ladder it
+ * replaced. Only mappings which don't depend on the event state are
+ * measured, those are resolved without a running server.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpongeToForgeEventMappingBenchmark {
+
+    private Event[] events;
+
+    @Setup
+    public void setUp() {
+        this.events = new Event[] {
+            proxy(CollideEvent.class),
+            proxy(LoadWorldEvent.class),
+            proxy(UnloadWorldEvent.class),
+            proxy(SpawnEntityEvent.class),
+            proxy(LoadChunkEvent.class),
+        };
+    }
+
+    private static Event proxy(final Class<? extends Event> type) {
+        return (Event) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @Benchmark
+    public void mapping(final Blackhole blackhole) {
+        for (final Event event : this.events) {
+            blackhole.consume(SpongeToForgeEventMapping.of(event).getForgeEventClass(event));
+        }
+    }
+
+    @Benchmark
+    public void instanceofLadder(final Blackhole blackhole) {
+        for (final Event event : this.events) {
+            blackhole.consume(ladder(event));
+        }
+    }
+
+    // The checks extendedPost made for every event before the mapping was cached, in the same order
+    private static Class<? extends net.minecraftforge.fml.common.eventhandler.Event> ladder(final Event event) {
+        if (event instanceof CollideEvent || event instanceof ChangeStatisticEvent || event instanceof ChangeDataHolderEvent
+            || event instanceof MoveEntityEvent && !(event instanceof MoveEntityEvent.Teleport)) {
+            return null;
+        }
+        if (event instanceof MessageChannelEvent.Chat || event instanceof DestructEntityEvent.Death || event instanceof InteractBlockEvent
+            || event instanceof NotifyNeighborBlockEvent || event instanceof ChangeBlockEvent.Place || event instanceof ExplosionEvent.Pre
+            || event instanceof ExplosionEvent.Detonate || event instanceof DropItemEvent || event instanceof ClientConnectionEvent
+            || event instanceof MoveEntityEvent.Teleport) {
+            return null;
+        }
+        if (event instanceof SpawnEntityEvent) {
+            return EntityJoinWorldEvent.class;
+        }
+        if (event instanceof LoadWorldEvent) {
+            return WorldEvent.Load.class;
+        }
+        if (event instanceof UnloadWorldEvent) {
+            return WorldEvent.Unload.class;
+        }
+        if (event instanceof LoadChunkEvent) {
+            return ChunkEvent.Load.class;
+        }
+        return null;
+    }
+}
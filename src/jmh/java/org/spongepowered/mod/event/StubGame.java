@@ -0,0 +1,71 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.mod.bridge.event.CauseStackManagerBridge_Forge;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+
+/**
+ * Installs a {@link Game} without a server for benchmarks which run code
+ * that asks Sponge whether it's on the main thread. Without a server,
+ * {@link org.spongepowered.common.SpongeImplHooks#isMainThread()} is true
+ * for every thread, as it is while a client is loading.
+ */
+final class StubGame {
+
+    private static final Object causeStackManager = Proxy.newProxyInstance(StubGame.class.getClassLoader(),
+        new Class<?>[] {CauseStackManager.class, CauseStackManagerBridge_Forge.class}, (proxy, method, args) -> null);
+
+    private StubGame() {
+    }
+
+    static void install() {
+        final Game game = (Game) Proxy.newProxyInstance(StubGame.class.getClassLoader(), new Class<?>[] {Game.class},
+            (proxy, method, args) -> {
+                if ("getCauseStackManager".equals(method.getName())) {
+                    return causeStackManager;
+                }
+                return method.getReturnType() == boolean.class ? false : null;
+            });
+        set("game", game);
+        // Injected separately from the game
+        set("causeStackManager", causeStackManager);
+    }
+
+    private static void set(final String name, final Object value) {
+        try {
+            final Field field = Sponge.class.getDeclaredField(name);
+            field.setAccessible(true);
+            field.set(null, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Couldn't install the stub game", e);
+        }
+    }
+}
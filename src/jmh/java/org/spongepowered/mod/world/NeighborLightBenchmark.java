@@ -0,0 +1,182 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.init.Bootstrap;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Compares reading the light of the six neighbors of a block the way the
+ * previous {@code World#getRawLight} overwrite did, with a
+ * {@link BlockPos#offset(EnumFacing)} and a {@code World#getLightFor} for
+ * each, with reading it from the chunk sections through
+ * {@link NeighborLight}.
+ *
+ * <p>The world is a grid of chunks with block light in their lower
+ * sections and empty sections above them. Block light is used because
+ * sky light in a {@link Chunk} needs a world. The light is kept below 14
+ * so every neighbor is read, and about a quarter of the positions have
+ * neighbors in another chunk.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NeighborLightBenchmark {
+
+    private static final int CHUNKS = 4;
+    private static final int POSITIONS = 1024;
+
+    private final BlockPos[] positions = new BlockPos[POSITIONS];
+    private StubChunkProvider chunkProvider;
+    private int index;
+
+    @Setup
+    public void setUp() {
+        // ExtendedBlockStorage needs the blocks to be registered
+        Bootstrap.register();
+        this.chunkProvider = new StubChunkProvider();
+        final Random random = new Random(42);
+        for (int chunkX = 0; chunkX < CHUNKS; chunkX++) {
+            for (int chunkZ = 0; chunkZ < CHUNKS; chunkZ++) {
+                final Chunk chunk = new Chunk(null, chunkX, chunkZ);
+                final ExtendedBlockStorage[] sections = chunk.getBlockStorageArray();
+                for (int section = 0; section < 8; section++) {
+                    final ExtendedBlockStorage storage = new ExtendedBlockStorage(section << 4, false);
+                    for (int i = 0; i < 4096; i++) {
+                        storage.setBlockLight(i & 15, i >> 8, (i >> 4) & 15, random.nextInt(13));
+                    }
+                    sections[section] = storage;
+                }
+                this.chunkProvider.chunks.put(ChunkPos.asLong(chunkX, chunkZ), chunk);
+            }
+        }
+        for (int i = 0; i < POSITIONS; i++) {
+            // Inside the grid so all neighbors are loaded, some of them above the sections with light
+            this.positions[i] = new BlockPos(1 + random.nextInt(CHUNKS * 16 - 2), 1 + random.nextInt(159), 1 + random.nextInt(CHUNKS * 16 - 2));
+        }
+    }
+
+    @Benchmark
+    public int previous() {
+        final BlockPos pos = this.positions[this.index++ & (POSITIONS - 1)];
+        int light = 0;
+        for (final EnumFacing facing : EnumFacing.values()) {
+            final BlockPos neighbor = pos.offset(facing);
+            final int k = this.getLightFor(EnumSkyBlock.BLOCK, neighbor) - 1;
+
+            if (k > light) {
+                light = k;
+            }
+
+            if (light >= 14) {
+                return light;
+            }
+        }
+
+        return light;
+    }
+
+    @Benchmark
+    public int sections() {
+        final BlockPos pos = this.positions[this.index++ & (POSITIONS - 1)];
+        return NeighborLight.getMax(this.chunkProvider, false, EnumSkyBlock.BLOCK, pos.getX(), pos.getY(), pos.getZ(), 0, 1);
+    }
+
+    /**
+     * World#getLightFor with World#isValid, World#isBlockLoaded and
+     * World#getChunk inlined as they go through the chunk provider.
+     */
+    private int getLightFor(final EnumSkyBlock type, BlockPos pos) {
+        if (pos.getY() < 0) {
+            pos = new BlockPos(pos.getX(), 0, pos.getZ());
+        }
+
+        if (pos.getY() >= 256 || pos.getX() < -30000000 || pos.getZ() < -30000000 || pos.getX() >= 30000000 || pos.getZ() >= 30000000) {
+            return type.defaultLightValue;
+        } else if (this.chunkProvider.getLoadedChunk(pos.getX() >> 4, pos.getZ() >> 4) == null) {
+            return type.defaultLightValue;
+        } else {
+            final Chunk chunk = this.chunkProvider.provideChunk(pos.getX() >> 4, pos.getZ() >> 4);
+            return chunk.getLightFor(type, pos);
+        }
+    }
+
+    private static final class StubChunkProvider implements IChunkProvider {
+
+        final Long2ObjectMap<Chunk> chunks = new Long2ObjectOpenHashMap<>();
+
+        @Nullable
+        @Override
+        public Chunk getLoadedChunk(final int x, final int z) {
+            return this.chunks.get(ChunkPos.asLong(x, z));
+        }
+
+        @Override
+        public Chunk provideChunk(final int x, final int z) {
+            return this.chunks.get(ChunkPos.asLong(x, z));
+        }
+
+        @Override
+        public boolean tick() {
+            return false;
+        }
+
+        @Override
+        public String makeString() {
+            return "StubChunkProvider: " + this.chunks.size();
+        }
+
+        @Override
+        public boolean isChunkGeneratedAt(final int x, final int z) {
+            return this.chunks.containsKey(ChunkPos.asLong(x, z));
+        }
+    }
+}
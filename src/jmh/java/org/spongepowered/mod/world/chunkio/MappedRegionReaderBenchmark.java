@@ -0,0 +1,125 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares reading the chunks of a region file through its
+ * {@link java.io.RandomAccessFile} with reading them from a mapping. The
+ * file is in the page cache, as it is for chunks loaded again shortly after
+ * they were saved.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedRegionReaderBenchmark {
+
+    private final byte[] buffer = new byte[8192];
+    private File directory;
+    private RegionFile region;
+    private ByteBuffer mapping;
+    private int index;
+
+    @Setup
+    public void setUp() throws IOException {
+        this.directory = Files.createTempDirectory("region").toFile();
+        final File file = new File(this.directory, "r.0.0.mca");
+        this.region = new RegionFile(file);
+        final Random random = new Random(42);
+        final byte[] chunk = new byte[24576];
+        for (int i = 0; i < 1024; i++) {
+            // Mostly runs of the same bytes with some noise, compresses to a few sectors like chunk data
+            for (int j = 0; j < chunk.length; j++) {
+                chunk[j] = (byte) (random.nextInt(8) == 0 ? random.nextInt() : j >> 6);
+            }
+            try (DataOutputStream output = this.region.getChunkDataOutputStream(i & 31, i >> 5)) {
+                output.write(chunk);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            this.mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.region.close();
+        this.mapping = null;
+        for (final File file : this.directory.listFiles()) {
+            file.delete();
+        }
+        this.directory.delete();
+    }
+
+    @Benchmark
+    public int randomAccessFile() throws IOException {
+        final int i = this.index++ & 1023;
+        return this.drain(this.region.getChunkDataInputStream(i & 31, i >> 5));
+    }
+
+    @Benchmark
+    public int mapped() throws IOException {
+        final int i = this.index++ & 1023;
+        // The header holds the offsets of the chunks in the same format as RegionFile#getOffset
+        final int offset = this.mapping.getInt(i * 4);
+        return this.drain(MappedRegionReader.readChunk(this.mapping.duplicate(), (offset >> 8) * 4096, offset & 255));
+    }
+
+    private int drain(final DataInputStream input) throws IOException {
+        int read = 0;
+        try (DataInputStream stream = input) {
+            for (int count; (count = stream.read(this.buffer)) != -1; ) {
+                read += count;
+            }
+        }
+        return read;
+    }
+}
@@ -36,11 +36,16 @@
 import net.minecraft.launchwrapper.Launch;
 import net.minecraft.network.NetworkManager;
 import net.minecraft.util.ResourceLocation;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraftforge.common.ForgeChunkManager;
 import net.minecraftforge.common.ForgeModContainer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.RegistryEvent;
 import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.world.WorldEvent;
 import net.minecraftforge.fml.client.FMLFileResourcePack;
 import net.minecraftforge.fml.client.FMLFolderResourcePack;
 import net.minecraftforge.fml.common.CertificateHelper;
@@ -90,6 +95,7 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeInternalListeners;
 import org.spongepowered.common.bridge.block.BlockBridge;
+import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.biome.BiomeBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderBridge;
@@ -122,15 +128,19 @@
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
 import org.spongepowered.mod.inject.SpongeForgeModule;
 import org.spongepowered.mod.bridge.registry.VillagerProfessionBridge_Forge;
+import org.spongepowered.mod.bridge.world.WorldBridge_Forge;
 import org.spongepowered.mod.network.SpongeModMessageHandler;
 import org.spongepowered.mod.plugin.MetaModContainer;
 import org.spongepowered.mod.plugin.SpongeModPluginContainer;
+import org.spongepowered.mod.registry.BlockLightTable;
 import org.spongepowered.mod.registry.SpongeForgeModuleRegistry;
 import org.spongepowered.mod.registry.SpongeForgeVillagerRegistry;
 import org.spongepowered.mod.registry.SpongeGameData;
 import org.spongepowered.mod.service.permission.SpongePermissionHandler;
 import org.spongepowered.mod.service.world.SpongeChunkTicketManager;
 import org.spongepowered.mod.util.StaticMixinForgeHelper;
+import org.spongepowered.mod.world.chunkio.DormantChunkCache;
+import org.spongepowered.mod.world.gen.WorldPregenerator;
 
 import java.io.File;
 import java.net.MalformedURLException;
@@ -482,7 +492,17 @@ public void onEntityRegister(RegistryEvent.Register<EntityEntry> event) {
 
     @SubscribeEvent
     public void onForceChunk(ForgeChunkManager.ForceChunkEvent event) {
-        final net.minecraft.world.chunk.Chunk chunk = ((ChunkProviderBridge) event.getTicket().world.getChunkProvider())
+        final net.minecraft.world.World world = event.getTicket().world;
+        // The event is posted before the ticket is added to the persistent chunks,
+        // and also when the ticket already forces the chunk
+        if (world.getPersistentChunks().containsEntry(event.getLocation(), event.getTicket())) {
+            return;
+        }
+        final long chunkPos = ChunkPos.asLong(event.getLocation().x, event.getLocation().z);
+        if (!((WorldBridge_Forge) world).forgeBridge$addPersistentChunkTicket(chunkPos)) {
+            return;
+        }
+        final net.minecraft.world.chunk.Chunk chunk = ((ChunkProviderBridge) world.getChunkProvider())
             .bridge$getLoadedChunkWithoutMarkingActive(event.getLocation().x,  event.getLocation().z);
         if (chunk != null) {
             ((ChunkBridge) chunk).bridge$setPersistedChunk(true);
@@ -491,13 +511,41 @@ public void onForceChunk(ForgeChunkManager.ForceChunkEvent event) {
 
     @SubscribeEvent
     public void onUnforceChunk(ForgeChunkManager.UnforceChunkEvent event) {
-        final net.minecraft.world.chunk.Chunk chunk = ((ChunkProviderBridge) event.getTicket().world.getChunkProvider())
+        final net.minecraft.world.World world = event.getTicket().world;
+        // The event is posted before the ticket is removed from the persistent chunks
+        if (!world.getPersistentChunks().containsEntry(event.getLocation(), event.getTicket())) {
+            return;
+        }
+        final long chunkPos = ChunkPos.asLong(event.getLocation().x, event.getLocation().z);
+        if (!((WorldBridge_Forge) world).forgeBridge$removePersistentChunkTicket(chunkPos)) {
+            return;
+        }
+        final net.minecraft.world.chunk.Chunk chunk = ((ChunkProviderBridge) world.getChunkProvider())
             .bridge$getLoadedChunkWithoutMarkingActive(event.getLocation().x,  event.getLocation().z);
         if (chunk != null) {
             ((ChunkBridge) chunk).bridge$setPersistedChunk(false);
         }
     }
 
+    @SubscribeEvent
+    public void onWorldLoad(WorldEvent.Load event) {
+        if (event.getWorld() instanceof WorldServer && !((WorldBridge) event.getWorld()).bridge$isFake()) {
+            WorldPregenerator.onWorldLoad((WorldServer) event.getWorld());
+        }
+    }
+
+    @SubscribeEvent
+    public void onWorldUnload(WorldEvent.Unload event) {
+        if (event.getWorld() instanceof WorldServer && !((WorldBridge) event.getWorld()).bridge$isFake()) {
+            WorldPregenerator.onWorldUnload((WorldServer) event.getWorld());
+            SpongeChunkTicketManager.onWorldUnload((WorldServer) event.getWorld());
+            final IChunkLoader chunkLoader = ((WorldServer) event.getWorld()).getChunkProvider().chunkLoader;
+            if (chunkLoader instanceof AnvilChunkLoader) {
+                DormantChunkCache.clear(((AnvilChunkLoader) chunkLoader).chunkSaveLocation);
+            }
+        }
+    }
+
     @Subscribe
     public void onInitialization(FMLInitializationEvent event) {
         if (SpongeImpl.getGlobalConfigAdapter().getConfig().getPermission().shouldEnableHandler()) {
@@ -536,6 +584,9 @@ public void onLoadComplete(FMLLoadCompleteEvent event) {
 
     @Subscribe
     public void onServerAboutToStart(FMLServerAboutToStartEvent event) {
+        // The registries are frozen by now, cache the light values of the block states for lighting
+        BlockLightTable.build();
+
         try {
             try {
                 ((ServerCommandManagerBridge) SpongeImpl.getServer().getCommandManager()).bridge$registerLowPriorityCommands(this.game);
@@ -38,4 +38,6 @@ public interface EventBusBridge_Forge {
     boolean forgeBridge$post(Event event, boolean forced);
 
     Set<Class<? extends Event>> forgeBridge$getEventListenerClassList();
+
+    Set<String> forgeBridge$getEventListenerOwners(Class<? extends Event> eventClass);
 }
@@ -24,7 +24,12 @@
  */
 package org.spongepowered.mod.bridge.world;
 
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableSetMultimap;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.storage.WorldInfo;
+import net.minecraftforge.common.ForgeChunkManager;
+import org.spongepowered.api.world.ChunkTicketManager;
 
 import javax.annotation.Nullable;
 
@@ -32,4 +37,40 @@ public interface WorldBridge_Forge {
 
     void forgeBridge$setRedirectedWorldInfo(@Nullable WorldInfo info);
 
+    /**
+     * Gets whether any chunk loading ticket forces the chunk at the given position.
+     *
+     * @param chunkPos The chunk position, see {@link net.minecraft.util.math.ChunkPos#asLong(int, int)}
+     * @return True if the chunk is persistent
+     */
+    boolean forgeBridge$isPersistentChunk(long chunkPos);
+
+    /**
+     * Adds a ticket forcing the chunk at the given position.
+     *
+     * @param chunkPos The chunk position
+     * @return True if no other ticket forced the chunk yet
+     */
+    boolean forgeBridge$addPersistentChunkTicket(long chunkPos);
+
+    /**
+     * Removes a ticket forcing the chunk at the given position.
+     *
+     * @param chunkPos The chunk position
+     * @return True if no ticket forces the chunk anymore
+     */
+    boolean forgeBridge$removePersistentChunkTicket(long chunkPos);
+
+    /**
+     * Gets the cached sponge view of the forced chunks of this world.
+     *
+     * @param forgeForcedChunks The current forced chunks of this world
+     * @return The sponge view, or null if it was not created from the given forced chunks
+     */
+    @Nullable ImmutableSetMultimap<Vector3i, ChunkTicketManager.LoadingTicket> forgeBridge$getForcedChunksView(
+        ImmutableSetMultimap<ChunkPos, ForgeChunkManager.Ticket> forgeForcedChunks);
+
+    void forgeBridge$setForcedChunksView(ImmutableSetMultimap<ChunkPos, ForgeChunkManager.Ticket> forgeForcedChunks,
+        ImmutableSetMultimap<Vector3i, ChunkTicketManager.LoadingTicket> spongeForcedChunks);
+
 }
@@ -24,11 +24,18 @@
  */
 package org.spongepowered.mod.command;
 
+import static org.spongepowered.api.command.args.GenericArguments.integer;
 import static org.spongepowered.api.command.args.GenericArguments.optional;
 import static org.spongepowered.api.command.args.GenericArguments.plugin;
+import static org.spongepowered.api.command.args.GenericArguments.seq;
+import static org.spongepowered.api.command.args.GenericArguments.world;
 
 import com.google.common.collect.Lists;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandException;
 import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.spec.CommandSpec;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -36,19 +43,32 @@
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.action.TextActions;
 import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.world.storage.WorldProperties;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.command.SpongeCommandFactory;
 import org.spongepowered.common.command.args.FilteredPluginsCommandElement;
+import org.spongepowered.mod.event.EventCensus;
+import org.spongepowered.mod.event.ListenerCircuitBreaker;
+import org.spongepowered.mod.event.ListenerLatencyRecorder;
 import org.spongepowered.mod.plugin.SpongeModPluginContainer;
+import org.spongepowered.mod.world.chunkio.ChunkPrefetcher;
+import org.spongepowered.mod.world.chunkio.DormantChunkCache;
+import org.spongepowered.mod.world.gen.PregenerationJob;
+import org.spongepowered.mod.world.gen.WorldPregenerator;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
 public class SpongeForgeCommandFactory extends SpongeCommandFactory {
     private static final List<String> MOD_LIST_STATICS = Lists.newArrayList("minecraft", "mcp", "FML", "forge", "spongeapi", "sponge");
+    private static final String LISTENER_LATENCY_FILE = "listener-latencies.json";
+    private static final int DEFAULT_CENSUS_TICKS = 200;
 
     public static CommandSpec createSpongeModsCommand() {
         return CommandSpec.builder()
@@ -115,6 +135,278 @@ public static CommandSpec createSpongeModsCommand() {
                 }).build();
     }
 
+    public static CommandSpec createSpongeListenersCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Show the latency of mod and plugin event listeners"))
+                .permission("sponge.command.listeners")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Start recording listener latencies"))
+                        .executor((src, args) -> {
+                            ListenerLatencyRecorder.setEnabled(true);
+                            src.sendMessage(Text.of("Listener latency recording enabled."));
+                            return CommandResult.success();
+                        }).build(), "enable")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Stop recording listener latencies"))
+                        .executor((src, args) -> {
+                            ListenerLatencyRecorder.setEnabled(false);
+                            src.sendMessage(Text.of("Listener latency recording disabled."));
+                            return CommandResult.success();
+                        }).build(), "disable")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Clear all recorded listener latencies"))
+                        .executor((src, args) -> {
+                            ListenerLatencyRecorder.reset();
+                            src.sendMessage(Text.of("Listener latencies cleared."));
+                            return CommandResult.success();
+                        }).build(), "reset")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Write all recorded listener latencies to a json file"))
+                        .executor((src, args) -> {
+                            final Path path = SpongeImpl.getGameDir().resolve(LISTENER_LATENCY_FILE);
+                            try {
+                                ListenerLatencyRecorder.dump(path);
+                            } catch (IOException e) {
+                                throw new CommandException(Text.of("Could not write listener latencies to ", path), e);
+                            }
+                            src.sendMessage(Text.of("Listener latencies written to ", path));
+                            return CommandResult.success();
+                        }).build(), "dump")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Show event listeners that are skipped after failing repeatedly"))
+                        .executor((src, args) -> {
+                            final List<Text> contents = new ArrayList<>();
+                            for (ListenerCircuitBreaker.Entry entry : ListenerCircuitBreaker.getQuarantined()) {
+                                contents.add(Text.of(TextColors.GREEN, entry.getOwnerId(), TextColors.WHITE, " ",
+                                        entry.getEventClass().getSimpleName(), TextColors.GRAY, " ", entry.getListener(),
+                                        " (", TimeUnit.MILLISECONDS.toSeconds(entry.getRemainingMillis()), "s remaining)"));
+                            }
+                            if (contents.isEmpty()) {
+                                contents.add(Text.of(TextColors.GRAY, "No event listeners are quarantined."));
+                            }
+                            PaginationList.builder()
+                                    .title(Text.of(TextColors.RED, "Quarantined listeners"))
+                                    .padding(Text.of(TextColors.DARK_GREEN, "="))
+                                    .contents(contents)
+                                    .build()
+                                    .sendTo(src);
+                            return CommandResult.success();
+                        }).build(), "quarantined")
+                .executor((src, args) -> {
+                    final List<ListenerLatencyRecorder.Entry> entries = ListenerLatencyRecorder.getEntries();
+                    final List<Text> contents = new ArrayList<>();
+                    for (ListenerLatencyRecorder.Entry entry : entries) {
+                        contents.add(Text.of(TextColors.GREEN, entry.getOwnerId(), TextColors.WHITE, " ", entry.getEventClass().getSimpleName(),
+                                TextColors.GRAY, " p50 ", formatNanos(entry.getP50()), " p99 ", formatNanos(entry.getP99()),
+                                " max ", formatNanos(entry.getMax()), " (", entry.getCount(), " calls)"));
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(Text.of(TextColors.GRAY, ListenerLatencyRecorder.isEnabled()
+                                ? "No listener latencies recorded yet."
+                                : "Listener latency recording is disabled, use /sponge listeners enable."));
+                    }
+                    PaginationList.builder()
+                            .title(Text.of(TextColors.RED, "Listener latencies"))
+                            .padding(Text.of(TextColors.DARK_GREEN, "="))
+                            .contents(contents)
+                            .build()
+                            .sendTo(src);
+                    return CommandResult.success();
+                }).build();
+    }
+
+    public static CommandSpec createSpongeCensusCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Count the events posted without any listener"))
+                .permission("sponge.command.census")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Start counting posted events for a number of ticks"))
+                        .arguments(optional(integer(Text.of("ticks"))))
+                        .executor((src, args) -> {
+                            if (!Sponge.isServerAvailable()) {
+                                throw new CommandException(Text.of("An event census can only be taken while a server is running."));
+                            }
+                            final int ticks = args.<Integer>getOne("ticks").orElse(DEFAULT_CENSUS_TICKS);
+                            if (ticks <= 0) {
+                                throw new CommandException(Text.of("The number of ticks must be positive."));
+                            }
+                            EventCensus.start(ticks);
+                            src.sendMessage(Text.of("Event census started for ", ticks, " ticks."));
+                            return CommandResult.success();
+                        }).build(), "start")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Stop counting posted events"))
+                        .executor((src, args) -> {
+                            EventCensus.stop();
+                            src.sendMessage(Text.of("Event census stopped."));
+                            return CommandResult.success();
+                        }).build(), "stop")
+                .executor((src, args) -> {
+                    final List<Text> contents = new ArrayList<>();
+                    for (EventCensus.Entry entry : EventCensus.getEntries()) {
+                        contents.add(Text.of(TextColors.WHITE, entry.getEventClass().getSimpleName(), TextColors.GRAY, " ",
+                                entry.getPosted(), " posted (", String.format("%.2f", entry.getPostedPerTick()), "/tick), ",
+                                TextColors.RED, entry.getUnheard(), " unheard", TextColors.GRAY, ", ",
+                                entry.getForgeListened(), " heard by mods, ",
+                                String.format("%.2f", entry.getAverageListeners()), " plugin listeners on average"));
+                        for (String enabledBy : entry.getEnabledBy()) {
+                            contents.add(Text.of(TextColors.GRAY, SpongeCommandFactory.INDENT, "enabled by ", TextColors.GREEN, enabledBy));
+                        }
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(Text.of(TextColors.GRAY, EventCensus.isEnabled()
+                                ? "No events counted yet."
+                                : "No event census was taken, use /sponge census start."));
+                    }
+                    PaginationList.builder()
+                            .title(Text.of(TextColors.RED, "Event census"))
+                            .padding(Text.of(TextColors.DARK_GREEN, "="))
+                            .contents(contents)
+                            .build()
+                            .sendTo(src);
+                    return CommandResult.success();
+                }).build();
+    }
+
+    public static CommandSpec createSpongePrefetchCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Show how many chunks were prefetched ahead of moving players in time"))
+                .permission("sponge.command.prefetch")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Clear the chunk prefetch metrics"))
+                        .executor((src, args) -> {
+                            ChunkPrefetcher.resetMetrics();
+                            src.sendMessage(Text.of("Chunk prefetch metrics cleared."));
+                            return CommandResult.success();
+                        }).build(), "reset")
+                .executor((src, args) -> {
+                    final long hits = ChunkPrefetcher.getHits();
+                    final long used = hits + ChunkPrefetcher.getLate();
+                    src.sendMessage(Text.of(TextColors.GREEN, "Prefetched chunks: ", TextColors.WHITE, ChunkPrefetcher.getRequested(),
+                            TextColors.GRAY, ", used ", used, ", in time ", hits,
+                            " (", used == 0 ? "-" : String.format("%.1f%%", hits * 100.0 / used), " hit rate)"));
+                    return CommandResult.success();
+                }).build();
+    }
+
+    public static CommandSpec createSpongeDormantCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Show the usage of the dormant chunk cache"))
+                .permission("sponge.command.dormant")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Clear the dormant chunk cache metrics"))
+                        .executor((src, args) -> {
+                            DormantChunkCache.resetMetrics();
+                            src.sendMessage(Text.of("Dormant chunk cache metrics cleared."));
+                            return CommandResult.success();
+                        }).build(), "reset")
+                .executor((src, args) -> {
+                    if (!DormantChunkCache.isEnabled()) {
+                        src.sendMessage(Text.of(TextColors.GRAY, "The dormant chunk cache is disabled."));
+                        return CommandResult.success();
+                    }
+                    final long hits = DormantChunkCache.getHits();
+                    final long loads = hits + DormantChunkCache.getMisses();
+                    src.sendMessage(Text.of(TextColors.GREEN, "Dormant chunks: ", TextColors.WHITE, DormantChunkCache.getSize(),
+                            TextColors.GRAY, ", ", String.format("%.1f/%.1fMB", DormantChunkCache.getBytes() / 1048576.0,
+                                    DormantChunkCache.getMaxBytes() / 1048576.0),
+                            ", ", hits, " of ", loads, " loads hit (", loads == 0 ? "-" : String.format("%.1f%%", hits * 100.0 / loads),
+                            "), ", DormantChunkCache.getEvictions(), " evicted"));
+                    return CommandResult.success();
+                }).build();
+    }
+
+    public static CommandSpec createSpongePregenCommand() {
+        return CommandSpec.builder()
+                .description(Text.of("Show the progress of world pregeneration"))
+                .permission("sponge.command.pregen")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Pregenerate the chunks around the center of a world, or the world spawn"))
+                        .arguments(world(Text.of("world")), integer(Text.of("radius")),
+                                optional(seq(integer(Text.of("centerX")), integer(Text.of("centerZ")))))
+                        .executor((src, args) -> {
+                            final WorldServer world = getLoadedWorld(args);
+                            final int radius = args.<Integer>getOne("radius").get();
+                            if (radius < 0) {
+                                throw new CommandException(Text.of("The radius can't be negative."));
+                            }
+                            final int centerX = args.<Integer>getOne("centerX").orElse(world.getSpawnPoint().getX() >> 4);
+                            final int centerZ = args.<Integer>getOne("centerZ").orElse(world.getSpawnPoint().getZ() >> 4);
+                            final PregenerationJob job = WorldPregenerator.start(world, centerX, centerZ, radius, src);
+                            src.sendMessage(Text.of("Pregenerating ", job.getTotal(), " chunks around chunk ", centerX, ", ", centerZ, " of ",
+                                    WorldPregenerator.getName(world), "."));
+                            return CommandResult.success();
+                        }).build(), "start")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Pause the pregeneration of a world"))
+                        .arguments(world(Text.of("world")))
+                        .executor((src, args) -> {
+                            final WorldServer world = getLoadedWorld(args);
+                            if (WorldPregenerator.pause(world) == null) {
+                                throw new CommandException(Text.of(WorldPregenerator.getName(world), " isn't being pregenerated."));
+                            }
+                            src.sendMessage(Text.of("Pregeneration of ", WorldPregenerator.getName(world), " paused."));
+                            return CommandResult.success();
+                        }).build(), "pause")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Resume the paused pregeneration of a world"))
+                        .arguments(world(Text.of("world")))
+                        .executor((src, args) -> {
+                            final WorldServer world = getLoadedWorld(args);
+                            final PregenerationJob job = WorldPregenerator.resume(world, src);
+                            if (job == null) {
+                                throw new CommandException(Text.of(WorldPregenerator.getName(world), " has no unfinished pregeneration."));
+                            }
+                            src.sendMessage(Text.of("Pregeneration of ", WorldPregenerator.getName(world), " resumed at ", job.getProgress(), "/",
+                                    job.getTotal(), " chunks."));
+                            return CommandResult.success();
+                        }).build(), "resume")
+                .child(CommandSpec.builder()
+                        .description(Text.of("Cancel the pregeneration of a world"))
+                        .arguments(world(Text.of("world")))
+                        .executor((src, args) -> {
+                            final WorldServer world = getLoadedWorld(args);
+                            if (!WorldPregenerator.cancel(world)) {
+                                throw new CommandException(Text.of(WorldPregenerator.getName(world), " isn't being pregenerated."));
+                            }
+                            src.sendMessage(Text.of("Pregeneration of ", WorldPregenerator.getName(world), " cancelled."));
+                            return CommandResult.success();
+                        }).build(), "cancel")
+                .executor((src, args) -> {
+                    final List<Text> contents = new ArrayList<>();
+                    for (PregenerationJob job : WorldPregenerator.getJobs()) {
+                        contents.add(Text.of(TextColors.WHITE, WorldPregenerator.getName(job.getWorld()), TextColors.GRAY, " ",
+                                job.getProgress(), "/", job.getTotal(), " chunks (",
+                                String.format("%.1f%%", job.getProgress() * 100.0 / job.getTotal()), "), ", job.getGenerated(), " generated, radius ",
+                                job.getRadius(), " around chunk ", job.getCenterX(), ", ", job.getCenterZ(),
+                                job.isPaused() ? Text.of(TextColors.YELLOW, " paused") : Text.EMPTY));
+                    }
+                    if (contents.isEmpty()) {
+                        contents.add(Text.of(TextColors.GRAY, "No world is being pregenerated, use /sponge pregen start."));
+                    } else {
+                        contents.add(Text.of(TextColors.GRAY, "Time budget: ", String.format("%.1fms", WorldPregenerator.getBudgetMillis()),
+                                " per tick"));
+                    }
+                    PaginationList.builder()
+                            .title(Text.of(TextColors.RED, "World pregeneration"))
+                            .padding(Text.of(TextColors.DARK_GREEN, "="))
+                            .contents(contents)
+                            .build()
+                            .sendTo(src);
+                    return CommandResult.success();
+                }).build();
+    }
+
+    private static WorldServer getLoadedWorld(final CommandContext args) throws CommandException {
+        final WorldProperties properties = args.<WorldProperties>getOne("world").get();
+        return (WorldServer) Sponge.getServer().getWorld(properties.getUniqueId())
+                .orElseThrow(() -> new CommandException(Text.of("The world ", properties.getWorldName(), " isn't loaded.")));
+    }
+
+    private static String formatNanos(final long nanos) {
+        return String.format("%.3fms", nanos / 1000000.0);
+    }
+
     private static Predicate<? super PluginContainer> getFilteredModsPredicate() {
         return plugin -> !SpongeCommandFactory.CONTAINER_LIST_STATICS.contains(plugin.getId()) && !(plugin instanceof SpongeModPluginContainer);
     }
@@ -72,11 +72,15 @@ private static SpongeBlockSnapshot toSponge(BlockSnapshot blockSnapshot) {
         return sponge;
     }
 
-    private static BlockSnapshot toForge(SpongeBlockSnapshot spongeSnapshot) {
+    private static BlockSnapshot toForge(World world, SpongeBlockSnapshot spongeSnapshot) {
         final UUID worldUniqueId = spongeSnapshot.getWorldUniqueId();
-        final org.spongepowered.api.world.World spongeWorld = Sponge.getServer().getWorld(worldUniqueId)
-            .orElseThrow(() -> new IllegalStateException("World with uuid: " + worldUniqueId + " not registered for snapshot:" + spongeSnapshot));
-        final World mcWorld = (World) spongeWorld;
+        final World mcWorld;
+        if (((org.spongepowered.api.world.World) world).getUniqueId().equals(worldUniqueId)) {
+            mcWorld = world;
+        } else {
+            mcWorld = (World) Sponge.getServer().getWorld(worldUniqueId)
+                .orElseThrow(() -> new IllegalStateException("World with uuid: " + worldUniqueId + " not registered for snapshot:" + spongeSnapshot));
+        }
         final BlockPos blockPos = VecHelper.toBlockPos(spongeSnapshot.getPosition());
         final IBlockState blockState = (IBlockState) spongeSnapshot.getState();
         final NBTTagCompound nbtTagCompound = spongeSnapshot.getCompound().orElse(null);
@@ -86,7 +90,13 @@ private static BlockSnapshot toForge(SpongeBlockSnapshot spongeSnapshot) {
     private final World worldPointer;
     private List<SpongeBlockSnapshot> wrappedList = new ArrayList<>();
 
+    // The forge snapshots are translated incrementally, as long as the captured
+    // snapshots they were translated from are only appended to
     @Nullable private List<BlockSnapshot> cachedSnapshots;
+    @Nullable private List<SpongeBlockSnapshot> cachedSource;
+    @Nullable private SpongeBlockSnapshot lastTranslated;
+    // Whether the cached list was handed out for iteration, in which case it is copied before it is appended to
+    private boolean cachedSnapshotsShared;
 
     public CapturedSnapshotWrapperList(World world) {
         this.worldPointer = world;
@@ -125,21 +135,44 @@ private List<BlockSnapshot> getCachedForgeList() {
         return this.cachedSnapshots;
     }
 
+    private List<BlockSnapshot> getSharedForgeList() {
+        final List<BlockSnapshot> cachedForgeList = getCachedForgeList();
+        this.cachedSnapshotsShared = true;
+        return cachedForgeList;
+    }
+
     private void populateCachedList() {
         final List<SpongeBlockSnapshot> underlying = getUnderlyingList();
-        if (underlying.isEmpty()) {
-            this.cachedSnapshots = new ArrayList<>();
+        final int size = underlying.size();
+        int translated = this.cachedSnapshots == null ? 0 : this.cachedSnapshots.size();
+        if (this.cachedSnapshots == null || underlying != this.cachedSource || size < translated
+            || translated > 0 && underlying.get(translated - 1) != this.lastTranslated) {
+            // The captured snapshots were replaced or modified other than by appending to them
+            this.cachedSnapshots = new ArrayList<>(size);
+            this.cachedSnapshotsShared = false;
+            this.cachedSource = underlying;
+            translated = 0;
+        } else if (translated == size) {
+            return;
+        } else if (this.cachedSnapshotsShared) {
+            this.cachedSnapshots = new ArrayList<>(this.cachedSnapshots);
+            this.cachedSnapshotsShared = false;
         }
-        this.cachedSnapshots = new ArrayList<>(underlying.size());
-        for (SpongeBlockSnapshot spongeSnapshot : underlying) {
-            final BlockSnapshot forgeSnapshot = toForge(spongeSnapshot);
-            this.cachedSnapshots.add(forgeSnapshot);
+        for (int i = translated; i < size; i++) {
+            this.cachedSnapshots.add(toForge(this.worldPointer, underlying.get(i)));
         }
+        this.lastTranslated = size == 0 ? null : underlying.get(size - 1);
+    }
+
+    private void invalidateCachedList() {
+        this.cachedSnapshots = null;
+        this.cachedSource = null;
+        this.lastTranslated = null;
     }
 
     @Override
     public Iterator<BlockSnapshot> iterator() {
-        return getCachedForgeList().iterator();
+        return getSharedForgeList().iterator();
     }
 
     @Override
@@ -155,10 +188,13 @@ public <T> T[] toArray(T[] a) {
     @Override
     public boolean add(BlockSnapshot blockSnapshot) {
         final List<SpongeBlockSnapshot> underlyingList = getUnderlyingList();
-        final List<BlockSnapshot> cachedForgeList = getCachedForgeList();
-        cachedForgeList.add(blockSnapshot);
         final SpongeBlockSnapshot sponge = toSponge(blockSnapshot);
-        return underlyingList.add(sponge);
+        if (!underlyingList.add(sponge)) {
+            return false;
+        }
+        // Picks up the appended snapshot, keeping the translation incremental
+        populateCachedList();
+        return true;
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -169,9 +205,7 @@ public boolean remove(Object o) {
         }
         final BlockSnapshot forgeSnapshot = (BlockSnapshot) o;
         final SpongeBlockSnapshot spongeSnapshot = toSponge(forgeSnapshot);
-        final List<SpongeBlockSnapshot> underlyingList = getUnderlyingList();
-        final List<BlockSnapshot> cachedForgeList = getCachedForgeList();
-        cachedForgeList.remove(forgeSnapshot);
+        invalidateCachedList();
         final PhaseContext<?> data = PhaseTracker.getInstance().getCurrentContext();
         if (((IPhaseState) data.state).doesBulkBlockCapture(data)) {
             data.getCapturedBlockSupplier().prune(spongeSnapshot);
@@ -208,10 +242,7 @@ public boolean retainAll(Collection<?> c) {
 
     @Override
     public void clear() {
-        if (this.cachedSnapshots != null) {
-            this.cachedSnapshots.clear();
-            this.cachedSnapshots = null;
-        }
+        invalidateCachedList();
         if (this.wrappedList != null) {
             this.wrappedList.clear();
         }
@@ -230,17 +261,16 @@ public BlockSnapshot set(int index, BlockSnapshot element) {
     @Override
     public void add(int index, BlockSnapshot element) {
         final List<SpongeBlockSnapshot> underlyingList = getUnderlyingList();
-        final List<BlockSnapshot> forgeList = getCachedForgeList();
-        forgeList.add(index, element);
         final SpongeBlockSnapshot sponge = toSponge(element);
         underlyingList.add(index, sponge);
+        invalidateCachedList();
     }
 
     @SuppressWarnings({"unchecked", "rawtypes"})
     @Override
     public BlockSnapshot remove(int index) {
-        final List<BlockSnapshot> cachedForgeList = getCachedForgeList();
-        final BlockSnapshot remove = cachedForgeList.remove(index);
+        final BlockSnapshot remove = getCachedForgeList().get(index);
+        invalidateCachedList();
         try {
             final PhaseContext<?> data = PhaseTracker.getInstance().getCurrentContext();
             if (((IPhaseState) data.state).doesBulkBlockCapture(data)) {
@@ -270,16 +300,16 @@ public int lastIndexOf(Object o) {
 
     @Override
     public ListIterator<BlockSnapshot> listIterator() {
-        return getCachedForgeList().listIterator();
+        return getSharedForgeList().listIterator();
     }
 
     @Override
     public ListIterator<BlockSnapshot> listIterator(int index) {
-        return getCachedForgeList().listIterator(index);
+        return getSharedForgeList().listIterator(index);
     }
 
     @Override
     public List<BlockSnapshot> subList(int fromIndex, int toIndex) {
-        return getCachedForgeList().subList(fromIndex, toIndex);
+        return getSharedForgeList().subList(fromIndex, toIndex);
     }
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.common.MinecraftForge;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.mod.bridge.event.EventBusBridge_Forge;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Counts the Sponge events posted by the implementation over a window of
+ * ticks, along with whether anything actually listened to them.
+ *
+ * <p>Events are only constructed when their {@code ShouldFire} flag is set,
+ * which also happens for mod listeners through
+ * {@link SpongeModEventManager#forgeToSpongeEventMapping}. Events that are
+ * posted without any plugin listener and without a listener for their
+ * Forge counterpart are false positives of that mapping, the census reports
+ * them together with the Forge listeners that enabled their flag.</p>
+ */
+public final class EventCensus {
+
+    private static final Map<Class<?>, Counts> counts = new HashMap<>();
+    private static volatile boolean enabled;
+    private static int startTick;
+    private static int endTick;
+    private static int lastTick;
+
+    private EventCensus() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Starts a new census, discarding the results of the previous one.
+     *
+     * @param ticks The number of ticks to count events for
+     */
+    public static void start(final int ticks) {
+        counts.clear();
+        startTick = Sponge.getServer().getRunningTimeTicks();
+        lastTick = startTick;
+        endTick = startTick + ticks;
+        enabled = true;
+    }
+
+    public static void stop() {
+        enabled = false;
+    }
+
+    /**
+     * Records a posted event. Only events posted on the main thread are counted.
+     *
+     * @param event The posted event
+     * @param listenerCache The sponge listeners of the event
+     * @param hasForgeListener Whether a mod listens to the forge counterpart of the event
+     */
+    static void record(final Event event, final RegisteredListener.Cache listenerCache, final boolean hasForgeListener) {
+        if (!SpongeImplHooks.isMainThread() || !Sponge.isServerAvailable()) {
+            return;
+        }
+        final int tick = Sponge.getServer().getRunningTimeTicks();
+        if (tick >= endTick) {
+            enabled = false;
+            SpongeImpl.getLogger().info("Event census finished after {} ticks, use /sponge census to see the results.", tick - startTick);
+            return;
+        }
+        lastTick = tick;
+        final Counts eventCounts = counts.computeIfAbsent(event.getClass(), k -> new Counts());
+        final int listeners = listenerCache.getListeners().size();
+        eventCounts.posted++;
+        eventCounts.listeners += listeners;
+        if (hasForgeListener) {
+            eventCounts.forgeListened++;
+        } else if (listeners == 0) {
+            eventCounts.unheard++;
+        }
+    }
+
+    /**
+     * Gets the results of the current or last census, sorted by the number of
+     * events that nothing listened to.
+     *
+     * @return The census entries
+     */
+    public static List<Entry> getEntries() {
+        final SpongeModEventManager manager = (SpongeModEventManager) Sponge.getEventManager();
+        final EventBusBridge_Forge bus = (EventBusBridge_Forge) MinecraftForge.EVENT_BUS;
+        final int ticks = Math.max(1, lastTick - startTick + 1);
+        final List<Entry> entries = new ArrayList<>(counts.size());
+        for (final Map.Entry<Class<?>, Counts> entry : counts.entrySet()) {
+            final Class<?> eventClass = entry.getKey();
+            final Counts eventCounts = entry.getValue();
+            final Set<String> enabledBy = new TreeSet<>();
+            if (eventCounts.unheard > 0) {
+                for (final Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass : bus.forgeBridge$getEventListenerClassList()) {
+                    for (final Class<? extends Event> spongeClass : manager.getShouldFireEventClasses(forgeClass)) {
+                        if (spongeClass.isAssignableFrom(eventClass)) {
+                            enabledBy.add(forgeClass.getName() + " " + bus.forgeBridge$getEventListenerOwners(forgeClass));
+                            break;
+                        }
+                    }
+                }
+            }
+            entries.add(new Entry(eventClass, eventCounts, ticks, enabledBy));
+        }
+        entries.sort(Comparator.comparingLong(Entry::getUnheard).thenComparingLong(Entry::getPosted).reversed());
+        return entries;
+    }
+
+    private static final class Counts {
+
+        long posted;
+        long listeners;
+        long forgeListened;
+        long unheard;
+    }
+
+    public static final class Entry {
+
+        private final Class<?> eventClass;
+        private final long posted;
+        private final long unheard;
+        private final long forgeListened;
+        private final double averageListeners;
+        private final double postedPerTick;
+        private final Set<String> enabledBy;
+
+        Entry(final Class<?> eventClass, final Counts counts, final int ticks, final Set<String> enabledBy) {
+            this.eventClass = eventClass;
+            this.posted = counts.posted;
+            this.unheard = counts.unheard;
+            this.forgeListened = counts.forgeListened;
+            this.averageListeners = counts.listeners / (double) counts.posted;
+            this.postedPerTick = counts.posted / (double) ticks;
+            this.enabledBy = enabledBy;
+        }
+
+        public Class<?> getEventClass() {
+            return this.eventClass;
+        }
+
+        public long getPosted() {
+            return this.posted;
+        }
+
+        /**
+         * Gets the number of events that neither a plugin nor a mod listened to.
+         *
+         * @return The number of unheard events
+         */
+        public long getUnheard() {
+            return this.unheard;
+        }
+
+        public long getForgeListened() {
+            return this.forgeListened;
+        }
+
+        public double getAverageListeners() {
+            return this.averageListeners;
+        }
+
+        public double getPostedPerTick() {
+            return this.postedPerTick;
+        }
+
+        /**
+         * Gets the forge event classes, with the mods listening to them, that
+         * enabled the {@code ShouldFire} flag of unheard events.
+         *
+         * @return The forge listeners enabling the event
+         */
+        public Set<String> getEnabledBy() {
+            return this.enabledBy;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.spongepowered.common.SpongeImplHooks;
+
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * A stack of reusable event data carriers, confined to the main thread.
+ *
+ * <p>Events may be posted from within event listeners, so carriers are
+ * handed out by nesting depth and must be released in reverse order of
+ * acquisition. Once the maximum depth is reached, or when not on the main
+ * thread, no carrier is handed out and callers allocate a new one.</p>
+ *
+ * @param <T> The type of carrier
+ */
+final class EventDataPool<T> {
+
+    private final Object[] carriers;
+    private final Supplier<T> factory;
+    private int depth;
+
+    EventDataPool(final int maxDepth, final Supplier<T> factory) {
+        this.carriers = new Object[maxDepth];
+        this.factory = factory;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    T acquire() {
+        if (this.depth >= this.carriers.length || !SpongeImplHooks.isMainThread()) {
+            return null;
+        }
+        Object carrier = this.carriers[this.depth];
+        if (carrier == null) {
+            carrier = this.carriers[this.depth] = this.factory.get();
+        }
+        this.depth++;
+        return (T) carrier;
+    }
+
+    /**
+     * Hands a carrier back to the pool.
+     *
+     * @param carrier The carrier
+     * @return True if the carrier belonged to this pool and can be reset
+     */
+    boolean release(final T carrier) {
+        if (this.depth == 0 || this.carriers[this.depth - 1] != carrier) {
+            return false;
+        }
+        this.depth--;
+        return true;
+    }
+}
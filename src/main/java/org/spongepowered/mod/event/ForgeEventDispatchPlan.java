@@ -0,0 +1,221 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraft.util.EnumHand;
+import net.minecraft.world.World;
+import net.minecraftforge.event.AttachCapabilitiesEvent;
+import net.minecraftforge.event.entity.EntityEvent;
+import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.GetCollisionBoxesEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fluids.FluidRegistry;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.gameevent.TickEvent;
+import net.minecraftforge.fml.relauncher.Side;
+import net.minecraftforge.oredict.OreDictionary;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.common.bridge.world.WorldBridge;
+import org.spongepowered.common.event.tracking.PhaseContext;
+import org.spongepowered.common.event.tracking.PhaseTracker;
+import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
+
+import javax.annotation.Nullable;
+
+/**
+ * Everything the forge event bus needs to know about a forge event class
+ * in order to bridge it to Sponge, resolved once per class instead of
+ * once per posted event.
+ *
+ * <p>Plans must only be requested once Sponge is initialized, since
+ * resolving the sponge event class touches {@link ForgeToSpongeEventFactory}.</p>
+ */
+public final class ForgeEventDispatchPlan {
+
+    private static final ClassValue<ForgeEventDispatchPlan> PLANS = new ClassValue<ForgeEventDispatchPlan>() {
+        @Override
+        protected ForgeEventDispatchPlan computeValue(final Class<?> type) {
+            return new ForgeEventDispatchPlan(type);
+        }
+    };
+
+    private static final byte UNKNOWN = 0;
+    private static final byte COMMON = 1;
+    private static final byte CLIENT = 2;
+
+    public static ForgeEventDispatchPlan of(final Event event) {
+        return PLANS.get(event.getClass());
+    }
+
+    private final boolean ignored;
+    private final boolean tickEvent;
+    private final boolean allowed;
+    private final boolean timed;
+    private final boolean handDependent;
+    @Nullable private final Class<? extends org.spongepowered.api.event.Event> spongeClass;
+    @Nullable private final Class<? extends org.spongepowered.api.event.Event> offHandSpongeClass;
+    private final ListenerPhase listenerPhase;
+    // Client only events are detected through the event instance, see SpongeImplHooks#isEventClientEvent
+    private byte side = UNKNOWN;
+
+    private ForgeEventDispatchPlan(final Class<?> type) {
+        this.ignored = EntityEvent.CanUpdate.class.isAssignableFrom(type)
+            || GetCollisionBoxesEvent.class.isAssignableFrom(type)
+            || AttachCapabilitiesEvent.class.isAssignableFrom(type)
+            || OreDictionary.OreRegisterEvent.class.isAssignableFrom(type)
+            || FluidRegistry.FluidRegisterEvent.class.isAssignableFrom(type);
+        this.tickEvent = TickEvent.class.isAssignableFrom(type);
+        // Events that should not be posted on the event bus
+        this.allowed = !LivingDropsEvent.class.isAssignableFrom(type)
+            && !WorldEvent.Save.class.isAssignableFrom(type)
+            && !WorldEvent.Unload.class.isAssignableFrom(type);
+        this.timed = !AttachCapabilitiesEvent.class.isAssignableFrom(type);
+        this.spongeClass = ForgeToSpongeEventFactory.getSpongeClass(type, EnumHand.MAIN_HAND);
+        this.offHandSpongeClass = ForgeToSpongeEventFactory.getSpongeClass(type, EnumHand.OFF_HAND);
+        this.handDependent = PlayerInteractEvent.class.isAssignableFrom(type) && this.spongeClass != this.offHandSpongeClass;
+        if (TickEvent.WorldTickEvent.class.isAssignableFrom(type)) {
+            this.listenerPhase = ListenerPhase.WORLD_TICK;
+        } else if (TickEvent.ServerTickEvent.class.isAssignableFrom(type)) {
+            this.listenerPhase = ListenerPhase.SERVER_TICK;
+        } else {
+            this.listenerPhase = ListenerPhase.GENERAL;
+        }
+    }
+
+    /**
+     * Gets whether the event is never bridged to Sponge, nor tracked by
+     * the {@link PhaseTracker} while being posted to mods.
+     *
+     * @param event The event being posted
+     * @return True if the event is ignored
+     */
+    public boolean isIgnored(final Event event) {
+        if (this.ignored) {
+            return true;
+        }
+        if (this.tickEvent && ((TickEvent) event).side == Side.CLIENT) {
+            return true;
+        }
+        if (this.side == UNKNOWN) {
+            this.side = SpongeImplHooks.isEventClientEvent(event) ? CLIENT : COMMON;
+        }
+        return this.side == CLIENT;
+    }
+
+    public boolean isAllowed() {
+        return this.allowed;
+    }
+
+    public boolean isTimed() {
+        return this.timed;
+    }
+
+    @Nullable
+    public Class<? extends org.spongepowered.api.event.Event> getSpongeClass(final Event event) {
+        if (this.handDependent && ((PlayerInteractEvent) event).getHand() != EnumHand.MAIN_HAND) {
+            return this.offHandSpongeClass;
+        }
+        return this.spongeClass;
+    }
+
+    /**
+     * Creates the phase context a forge listener should be invoked in. The
+     * caller is responsible for checking {@link #isIgnored(Event)} and that
+     * the event is posted on the main thread.
+     *
+     * @param container The container owning the listener
+     * @param event The event being posted
+     * @return The phase context, or null if the listener needs none
+     */
+    @Nullable
+    public PhaseContext<?> createListenerPhase(@Nullable final ModContainer container, final Event event) {
+        return this.listenerPhase.create(container, event);
+    }
+
+    private enum ListenerPhase {
+        WORLD_TICK {
+            @Nullable
+            @Override
+            PhaseContext<?> create(@Nullable final ModContainer container, final Event event) {
+                final TickEvent.WorldTickEvent worldTickEvent = (TickEvent.WorldTickEvent) event;
+                final World world = worldTickEvent.world;
+                if (world == null || ((WorldBridge) world).bridge$isFake()) {
+                    return null;
+                }
+                if (worldTickEvent.phase == TickEvent.Phase.START) {
+                    return PluginPhase.Listener.PRE_WORLD_TICK_LISTENER
+                        .createPhaseContext()
+                        .source(container)
+                        .world(world)
+                        .event(event);
+                } else if (worldTickEvent.phase == TickEvent.Phase.END) {
+                    return PluginPhase.Listener.POST_WORLD_TICK_LISTENER
+                        .createPhaseContext()
+                        .source(container)
+                        .world(world)
+                        .event(event);
+                }
+                return GENERAL.create(container, event);
+            }
+        },
+        // Basically some forge mods also listen to the server tick event and perform world changes as well...........
+        SERVER_TICK {
+            @Nullable
+            @Override
+            PhaseContext<?> create(@Nullable final ModContainer container, final Event event) {
+                final TickEvent.ServerTickEvent serverTickEvent = (TickEvent.ServerTickEvent) event;
+                if (serverTickEvent.phase == TickEvent.Phase.START) {
+                    // Need to prepare all worlds many mods do this
+                    return PluginPhase.Listener.PRE_SERVER_TICK_LISTENER.createPhaseContext()
+                        .source(container)
+                        .event(event);
+                } else if (serverTickEvent.phase == TickEvent.Phase.END) {
+                    // Need to prepare all worlds many mods do this
+                    return PluginPhase.Listener.POST_SERVER_TICK_LISTENER.createPhaseContext()
+                        .source(container)
+                        .event(event);
+                }
+                return GENERAL.create(container, event);
+            }
+        },
+        GENERAL {
+            @Nullable
+            @Override
+            PhaseContext<?> create(@Nullable final ModContainer container, final Event event) {
+                if (container != null && PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
+                    return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
+                        .event(event)
+                        .source(container);
+                }
+                return null;
+            }
+        };
+
+        @Nullable
+        abstract PhaseContext<?> create(@Nullable ModContainer container, Event event);
+    }
+}
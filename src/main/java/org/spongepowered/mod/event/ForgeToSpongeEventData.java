@@ -31,18 +31,66 @@
 
 public class ForgeToSpongeEventData {
 
-    private final Event forgeEvent;
-    private final IEventListener[] forgeListeners;
-    private final boolean useCauseStackManager;
+    private static final EventDataPool<ForgeToSpongeEventData> pool = new EventDataPool<>(16, ForgeToSpongeEventData::new);
+
+    private Event forgeEvent;
+    private IEventListener[] forgeListeners;
+    private boolean useCauseStackManager;
     private org.spongepowered.api.event.Event spongeEvent;
     private RegisteredListener.Cache spongeListenerCache;
     private boolean beforeModifications = false;
     private boolean forced = false;
 
     public ForgeToSpongeEventData(Event forgeEvent, final IEventListener[] forgeListeners) {
+        this(forgeEvent, forgeListeners, SpongeModEventManager.shouldUseCauseStackManager(false));
+    }
+
+    public ForgeToSpongeEventData(Event forgeEvent, final IEventListener[] forgeListeners, boolean useCauseStackManager) {
+        this.init(forgeEvent, forgeListeners, useCauseStackManager);
+    }
+
+    private ForgeToSpongeEventData() {
+    }
+
+    /**
+     * Obtains event data for the given forge event. On the main thread, the
+     * returned instance is reused and has to be handed back through
+     * {@link #release()} once the event has been posted.
+     *
+     * @param forgeEvent The forge event
+     * @param forgeListeners The forge listeners of the event
+     * @param useCauseStackManager Whether the cause stack manager is used,
+     *     see {@link SpongeModEventManager#shouldUseCauseStackManager(boolean)}
+     * @return The event data
+     */
+    public static ForgeToSpongeEventData acquire(Event forgeEvent, final IEventListener[] forgeListeners, boolean useCauseStackManager) {
+        final ForgeToSpongeEventData eventData = pool.acquire();
+        if (eventData == null) {
+            return new ForgeToSpongeEventData(forgeEvent, forgeListeners, useCauseStackManager);
+        }
+        eventData.init(forgeEvent, forgeListeners, useCauseStackManager);
+        return eventData;
+    }
+
+    /**
+     * Hands event data obtained through {@link #acquire} back for reuse. The
+     * event data must not be used afterwards.
+     */
+    public void release() {
+        if (pool.release(this)) {
+            this.forgeEvent = null;
+            this.forgeListeners = null;
+            this.spongeEvent = null;
+            this.spongeListenerCache = null;
+        }
+    }
+
+    private void init(Event forgeEvent, final IEventListener[] forgeListeners, boolean useCauseStackManager) {
         this.forgeEvent = forgeEvent;
         this.forgeListeners = forgeListeners;
-        this.useCauseStackManager = SpongeModEventManager.shouldUseCauseStackManager(false);
+        this.useCauseStackManager = useCauseStackManager;
+        this.beforeModifications = false;
+        this.forced = false;
     }
 
     public Event getForgeEvent() {
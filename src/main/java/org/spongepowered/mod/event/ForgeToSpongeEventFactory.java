@@ -93,6 +93,8 @@
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
+
 /**
  * Handles events initiated by Forge mods.
  * It is primarily responsible for firing a corresponding Sponge event to plugins.
@@ -116,31 +118,42 @@ public class ForgeToSpongeEventFactory {
         .build();
 
     public static Class<? extends Event> getSpongeClass(net.minecraftforge.fml.common.eventhandler.Event event) {
+        return ForgeEventDispatchPlan.of(event).getSpongeClass(event);
+    }
+
+    /**
+     * Resolves the sponge event class for a forge event class. Only used when
+     * building a {@link ForgeEventDispatchPlan}, use {@link #getSpongeClass(net.minecraftforge.fml.common.eventhandler.Event)}
+     * for actual events.
+     *
+     * @param forgeClass The forge event class
+     * @param hand The hand used, only relevant for {@link PlayerInteractEvent}s
+     * @return The sponge event class, if available
+     */
+    @Nullable
+    static Class<? extends Event> getSpongeClass(Class<?> forgeClass, EnumHand hand) {
         // Handle special cases
-        if (event instanceof PlayerInteractEvent) {
-            if (event instanceof PlayerInteractEvent.LeftClickBlock) {
-                final PlayerInteractEvent.LeftClickBlock forgeEvent = (PlayerInteractEvent.LeftClickBlock) event;
-                if (forgeEvent.getHand() == EnumHand.MAIN_HAND) {
+        if (PlayerInteractEvent.class.isAssignableFrom(forgeClass)) {
+            if (PlayerInteractEvent.LeftClickBlock.class.isAssignableFrom(forgeClass)) {
+                if (hand == EnumHand.MAIN_HAND) {
                     return InteractBlockEvent.Primary.MainHand.class;
                 }
                 return InteractBlockEvent.Primary.OffHand.class;
             }
-            if (event instanceof PlayerInteractEvent.RightClickBlock) {
-                final PlayerInteractEvent.RightClickBlock forgeEvent = (PlayerInteractEvent.RightClickBlock) event;
-                if (forgeEvent.getHand() == EnumHand.MAIN_HAND) {
+            if (PlayerInteractEvent.RightClickBlock.class.isAssignableFrom(forgeClass)) {
+                if (hand == EnumHand.MAIN_HAND) {
                     return InteractBlockEvent.Secondary.MainHand.class;
                 }
                 return InteractBlockEvent.Secondary.OffHand.class;
             }
-            if (event instanceof PlayerInteractEvent.RightClickItem) {
-                final PlayerInteractEvent.RightClickItem forgeEvent = (PlayerInteractEvent.RightClickItem) event;
-                if (forgeEvent.getHand() == EnumHand.MAIN_HAND) {
+            if (PlayerInteractEvent.RightClickItem.class.isAssignableFrom(forgeClass)) {
+                if (hand == EnumHand.MAIN_HAND) {
                     return InteractItemEvent.Secondary.MainHand.class;
                 }
                 return InteractItemEvent.Secondary.OffHand.class;
             }
         }
-        return forgeToSpongeClassMap.get(event.getClass());
+        return forgeToSpongeClassMap.get(forgeClass);
     }
 
     private static Tristate getTristateFromResult(Result result) {
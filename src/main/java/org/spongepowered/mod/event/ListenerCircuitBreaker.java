@@ -0,0 +1,237 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.MapMaker;
+import net.minecraftforge.fml.common.ModContainer;
+import org.apache.logging.log4j.Level;
+import org.spongepowered.asm.util.PrettyPrinter;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps event listeners that repeatedly throw from flooding the log and
+ * dragging the server down. Once a listener fails {@code sponge.listener.failureThreshold}
+ * times within {@code sponge.listener.failureWindowSeconds}, it is skipped for
+ * {@code sponge.listener.quarantineSeconds} and a single summary is logged.
+ *
+ * <p>Sponge only logs the first failure of a listener in full, later
+ * failures get a single line until the listener is quarantined. Failures
+ * are tracked per listener instance and forgotten once the listener is
+ * garbage collected, so listeners of unloaded mods aren't kept alive.
+ * Checking whether a listener is quarantined never locks.</p>
+ */
+public final class ListenerCircuitBreaker {
+
+    private static final int FAILURE_THRESHOLD = Integer.getInteger("sponge.listener.failureThreshold", 10);
+    private static final long FAILURE_WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("sponge.listener.failureWindowSeconds", 60));
+    private static final long QUARANTINE_MILLIS = TimeUnit.SECONDS.toMillis(Long.getLong("sponge.listener.quarantineSeconds", 300));
+
+    // Weak keys compare by identity
+    private static final Map<Object, Failures> failures = new MapMaker().weakKeys().makeMap();
+    // Only changed while holding the class lock
+    private static volatile int quarantinedCount;
+    private static long lastPruned;
+
+    private ListenerCircuitBreaker() {
+    }
+
+    /**
+     * Gets whether the listener is currently quarantined and must be skipped.
+     *
+     * @param listener The forge or sponge listener
+     * @return True if the listener should not be called
+     */
+    public static boolean isQuarantined(final Object listener) {
+        if (quarantinedCount == 0) {
+            return false;
+        }
+        final Failures listenerFailures = failures.get(listener);
+        if (listenerFailures == null) {
+            return false;
+        }
+        final long quarantinedUntil = listenerFailures.quarantinedUntil;
+        if (quarantinedUntil == 0) {
+            return false;
+        }
+        if (System.currentTimeMillis() < quarantinedUntil) {
+            return true;
+        }
+        release(listener, listenerFailures);
+        return false;
+    }
+
+    private static synchronized void release(final Object listener, final Failures listenerFailures) {
+        // Another thread may have released the listener in the meantime
+        if (failures.remove(listener, listenerFailures)) {
+            quarantinedCount--;
+            SpongeImpl.getLogger().info("Releasing event listener {} of {} from quarantine.", listener, listenerFailures.ownerId);
+        }
+    }
+
+    /**
+     * Records a failure of a listener.
+     *
+     * @param listener The forge or sponge listener
+     * @param ownerId The id of the mod or plugin owning the listener
+     * @param eventClass The class of the event being handled
+     * @param throwable The failure
+     * @return True if the failure should be logged in full
+     */
+    public static synchronized boolean recordFailure(final Object listener, final String ownerId, final Class<?> eventClass,
+        final Throwable throwable) {
+        final long now = System.currentTimeMillis();
+        if (lastPruned + FAILURE_WINDOW_MILLIS < now) {
+            prune(now);
+        }
+        Failures listenerFailures = failures.get(listener);
+        if (listenerFailures == null || listenerFailures.windowStart + FAILURE_WINDOW_MILLIS < now && listenerFailures.quarantinedUntil == 0) {
+            listenerFailures = new Failures(ownerId, eventClass, now);
+            failures.put(listener, listenerFailures);
+        }
+        final boolean first = listenerFailures.count++ == 0;
+        if (!first && listenerFailures.count < FAILURE_THRESHOLD) {
+            SpongeImpl.getLogger().warn("Event listener {} of {} failed again handling {} ({}/{}): {}", listener, ownerId,
+                eventClass.getSimpleName(), listenerFailures.count, FAILURE_THRESHOLD, throwable);
+        }
+        if (listenerFailures.count >= FAILURE_THRESHOLD && listenerFailures.quarantinedUntil == 0) {
+            listenerFailures.quarantinedUntil = now + QUARANTINE_MILLIS;
+            quarantinedCount++;
+            new PrettyPrinter(60).add("Quarantined Event Listener").centre().hr()
+                .add("An event listener failed %d times within %d seconds and will", listenerFailures.count,
+                    TimeUnit.MILLISECONDS.toSeconds(FAILURE_WINDOW_MILLIS))
+                .add("be skipped for the next %d seconds.", TimeUnit.MILLISECONDS.toSeconds(QUARANTINE_MILLIS))
+                .add()
+                .add("%s: %s", "Owning Mod/Plugin", ownerId)
+                .add("%s: %s", "Listener", listener)
+                .add("%s: %s", "Event", eventClass.getName())
+                .add("Last Exception:")
+                .add(throwable)
+                .log(SpongeImpl.getLogger(), Level.WARN);
+        }
+        return first;
+    }
+
+    /**
+     * Forgets the failures of listeners that stopped failing and releases
+     * expired quarantines. The quarantine count is recomputed, as garbage
+     * collected listeners drop out of the map without being released.
+     */
+    private static void prune(final long now) {
+        int quarantined = 0;
+        for (final Iterator<Map.Entry<Object, Failures>> iterator = failures.entrySet().iterator(); iterator.hasNext(); ) {
+            final Map.Entry<Object, Failures> entry = iterator.next();
+            final Failures listenerFailures = entry.getValue();
+            if (listenerFailures.quarantinedUntil == 0) {
+                if (listenerFailures.windowStart + FAILURE_WINDOW_MILLIS < now) {
+                    iterator.remove();
+                }
+            } else if (listenerFailures.quarantinedUntil <= now) {
+                iterator.remove();
+                SpongeImpl.getLogger().info("Releasing event listener {} of {} from quarantine.", entry.getKey(), listenerFailures.ownerId);
+            } else {
+                quarantined++;
+            }
+        }
+        quarantinedCount = quarantined;
+        lastPruned = now;
+    }
+
+    public static String getOwnerId(@Nullable final ModContainer container) {
+        return container == null ? "unknown" : container.getModId();
+    }
+
+    /**
+     * Gets all currently quarantined listeners.
+     *
+     * @return The quarantined listeners
+     */
+    public static synchronized List<Entry> getQuarantined() {
+        final long now = System.currentTimeMillis();
+        prune(now);
+        final List<Entry> entries = new ArrayList<>();
+        for (final Map.Entry<Object, Failures> entry : failures.entrySet()) {
+            final Failures listenerFailures = entry.getValue();
+            if (listenerFailures.quarantinedUntil > now) {
+                entries.add(new Entry(listenerFailures.ownerId, String.valueOf(entry.getKey()), listenerFailures.eventClass,
+                    listenerFailures.quarantinedUntil - now));
+            }
+        }
+        return entries;
+    }
+
+    private static final class Failures {
+
+        final String ownerId;
+        final Class<?> eventClass;
+        final long windowStart;
+        int count;
+        volatile long quarantinedUntil;
+
+        Failures(final String ownerId, final Class<?> eventClass, final long windowStart) {
+            this.ownerId = ownerId;
+            this.eventClass = eventClass;
+            this.windowStart = windowStart;
+        }
+    }
+
+    public static final class Entry {
+
+        private final String ownerId;
+        private final String listener;
+        private final Class<?> eventClass;
+        private final long remainingMillis;
+
+        Entry(final String ownerId, final String listener, final Class<?> eventClass, final long remainingMillis) {
+            this.ownerId = ownerId;
+            this.listener = listener;
+            this.eventClass = eventClass;
+            this.remainingMillis = remainingMillis;
+        }
+
+        public String getOwnerId() {
+            return this.ownerId;
+        }
+
+        public String getListener() {
+            return this.listener;
+        }
+
+        public Class<?> getEventClass() {
+            return this.eventClass;
+        }
+
+        public long getRemainingMillis() {
+            return this.remainingMillis;
+        }
+    }
+}
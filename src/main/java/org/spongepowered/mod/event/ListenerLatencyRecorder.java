@@ -0,0 +1,192 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.minecraftforge.fml.common.ModContainer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Records the latency of every forge and sponge event listener invocation,
+ * keyed by the owning mod or plugin and the event class, when enabled
+ * through {@code /sponge listeners}.
+ *
+ * <p>Only invocations on the main thread are recorded.</p>
+ */
+public final class ListenerLatencyRecorder {
+
+    private static final String UNKNOWN_OWNER = "unknown";
+
+    private static final ClassValue<Map<String, LatencyHistogram>> histograms = new ClassValue<Map<String, LatencyHistogram>>() {
+        @Override
+        protected Map<String, LatencyHistogram> computeValue(final Class<?> type) {
+            // Values may be computed more than once, make sure they all share the same map
+            return eventClasses.computeIfAbsent(type, key -> new HashMap<>());
+        }
+    };
+    // Keeps track of every event class with histograms, since ClassValues can't be iterated
+    private static final Map<Class<?>, Map<String, LatencyHistogram>> eventClasses = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+
+    private ListenerLatencyRecorder() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        ListenerLatencyRecorder.enabled = enabled;
+    }
+
+    public static void record(final String ownerId, final Class<?> eventClass, final long nanos) {
+        final Map<String, LatencyHistogram> byOwner = histograms.get(eventClass);
+        LatencyHistogram histogram = byOwner.get(ownerId);
+        if (histogram == null) {
+            histogram = new LatencyHistogram();
+            byOwner.put(ownerId, histogram);
+        }
+        histogram.record(nanos);
+    }
+
+    public static void record(@Nullable final ModContainer owner, final Class<?> eventClass, final long nanos) {
+        record(owner == null ? UNKNOWN_OWNER : owner.getModId(), eventClass, nanos);
+    }
+
+    public static void reset() {
+        for (final Map<String, LatencyHistogram> byOwner : eventClasses.values()) {
+            for (final LatencyHistogram histogram : byOwner.values()) {
+                histogram.reset();
+            }
+        }
+    }
+
+    /**
+     * Gets a snapshot of all recorded listener latencies, sorted by their
+     * 99th percentile in descending order. Must be called on the main thread.
+     *
+     * @return The recorded entries
+     */
+    public static List<Entry> getEntries() {
+        final List<Entry> entries = new ArrayList<>();
+        for (final Map.Entry<Class<?>, Map<String, LatencyHistogram>> byEventClass : eventClasses.entrySet()) {
+            for (final Map.Entry<String, LatencyHistogram> byOwner : byEventClass.getValue().entrySet()) {
+                final LatencyHistogram histogram = byOwner.getValue();
+                if (histogram.getCount() > 0) {
+                    entries.add(new Entry(byOwner.getKey(), byEventClass.getKey(), histogram.getCount(), histogram.getValueAtPercentile(50),
+                        histogram.getValueAtPercentile(99), histogram.getMax()));
+                }
+            }
+        }
+        entries.sort(Comparator.comparingLong(Entry::getP99).reversed());
+        return entries;
+    }
+
+    /**
+     * Writes all recorded listener latencies as json.
+     *
+     * @param path The file to write to
+     * @throws IOException If the file could not be written
+     */
+    public static void dump(final Path path) throws IOException {
+        final JsonArray listeners = new JsonArray();
+        for (final Entry entry : getEntries()) {
+            final JsonObject object = new JsonObject();
+            object.addProperty("owner", entry.getOwnerId());
+            object.addProperty("event", entry.getEventClass().getName());
+            object.addProperty("count", entry.getCount());
+            object.addProperty("p50Nanos", entry.getP50());
+            object.addProperty("p99Nanos", entry.getP99());
+            object.addProperty("maxNanos", entry.getMax());
+            listeners.add(object);
+        }
+        final JsonObject root = new JsonObject();
+        root.add("listeners", listeners);
+        final Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            gson.toJson(root, writer);
+        }
+    }
+
+    public static final class Entry {
+
+        private final String ownerId;
+        private final Class<?> eventClass;
+        private final long count;
+        private final long p50;
+        private final long p99;
+        private final long max;
+
+        Entry(final String ownerId, final Class<?> eventClass, final long count, final long p50, final long p99, final long max) {
+            this.ownerId = ownerId;
+            this.eventClass = eventClass;
+            this.count = count;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        public String getOwnerId() {
+            return this.ownerId;
+        }
+
+        public Class<?> getEventClass() {
+            return this.eventClass;
+        }
+
+        public long getCount() {
+            return this.count;
+        }
+
+        public long getP50() {
+            return this.p50;
+        }
+
+        public long getP99() {
+            return this.p99;
+        }
+
+        public long getMax() {
+            return this.max;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.MapMaker;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * The listeners of a {@link RegisteredListener.Cache}, flattened in
+ * {@link Order} and prepartitioned by whether they run before
+ * modifications, so posting an event walks a single array per pass.
+ *
+ * <p>Each slice is additionally split into runs of consecutive listeners
+ * owned by the same plugin, allowing the active mod container to only be
+ * switched once per run.</p>
+ */
+final class SpongeEventDispatchPlan {
+
+    // Caches are replaced whenever listeners change, so plans are keyed weakly by identity
+    private static final Map<RegisteredListener.Cache, SpongeEventDispatchPlan> PLANS = new MapMaker().weakKeys().makeMap();
+
+    static SpongeEventDispatchPlan of(final RegisteredListener.Cache cache) {
+        return PLANS.computeIfAbsent(cache, SpongeEventDispatchPlan::new);
+    }
+
+    private final Slice all;
+    private final Slice beforeModifications;
+    private final Slice afterModifications;
+
+    private SpongeEventDispatchPlan(final RegisteredListener.Cache cache) {
+        final List<RegisteredListener<?>> listeners = new ArrayList<>();
+        for (final Order order : Order.values()) {
+            listeners.addAll(cache.getListenersByOrder(order));
+        }
+        this.all = new Slice(listeners, listener -> true);
+        this.beforeModifications = new Slice(listeners, RegisteredListener::isBeforeModifications);
+        this.afterModifications = new Slice(listeners, listener -> !listener.isBeforeModifications());
+    }
+
+    /**
+     * Gets the listeners to call for a single pass of an event.
+     *
+     * @param beforeModifications Whether this is the pass before mods are
+     *     able to modify the event
+     * @param forced Whether all listeners should be called regardless of
+     *     their before modifications state
+     * @return The listeners to call
+     */
+    Slice getSlice(final boolean beforeModifications, final boolean forced) {
+        if (forced) {
+            return this.all;
+        }
+        return beforeModifications ? this.beforeModifications : this.afterModifications;
+    }
+
+    static final class Slice {
+
+        final RegisteredListener<?>[] listeners;
+        // The exclusive end index of each run of listeners sharing the same plugin
+        final int[] runEnds;
+
+        Slice(final List<RegisteredListener<?>> source, final Predicate<RegisteredListener<?>> filter) {
+            final List<RegisteredListener<?>> listeners = new ArrayList<>(source.size());
+            for (final RegisteredListener<?> listener : source) {
+                if (filter.test(listener)) {
+                    listeners.add(listener);
+                }
+            }
+            this.listeners = listeners.toArray(new RegisteredListener<?>[0]);
+
+            final int[] runEnds = new int[this.listeners.length];
+            int runs = 0;
+            PluginContainer plugin = null;
+            for (int i = 0; i < this.listeners.length; i++) {
+                if (i > 0 && this.listeners[i].getPlugin() != plugin) {
+                    runEnds[runs++] = i;
+                }
+                plugin = this.listeners[i].getPlugin();
+            }
+            if (this.listeners.length > 0) {
+                runEnds[runs++] = this.listeners.length;
+            }
+            this.runEnds = new int[runs];
+            System.arraycopy(runEnds, 0, this.runEnds, 0, runs);
+        }
+
+        boolean isEmpty() {
+            return this.listeners.length == 0;
+        }
+    }
+}
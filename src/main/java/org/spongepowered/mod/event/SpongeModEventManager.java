@@ -26,6 +26,7 @@
 
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMultimap;
+import com.google.common.reflect.TypeToken;
 import com.google.inject.Singleton;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.CommandEvent;
@@ -78,13 +79,11 @@
 import org.spongepowered.api.event.CauseStackManager;
 import org.spongepowered.api.event.Event;
 import org.spongepowered.api.event.Order;
-import org.spongepowered.api.event.action.CollideEvent;
 import org.spongepowered.api.event.action.LightningEvent;
 import org.spongepowered.api.event.block.ChangeBlockEvent;
 import org.spongepowered.api.event.block.InteractBlockEvent;
 import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
 import org.spongepowered.api.event.command.SendCommandEvent;
-import org.spongepowered.api.event.data.ChangeDataHolderEvent;
 import org.spongepowered.api.event.entity.ChangeEntityExperienceEvent;
 import org.spongepowered.api.event.entity.CollideEntityEvent;
 import org.spongepowered.api.event.entity.ConstructEntityEvent;
@@ -101,25 +100,30 @@
 import org.spongepowered.api.event.item.inventory.UseItemStackEvent;
 import org.spongepowered.api.event.message.MessageChannelEvent;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
-import org.spongepowered.api.event.statistic.ChangeStatisticEvent;
 import org.spongepowered.api.event.world.LoadWorldEvent;
 import org.spongepowered.api.event.world.UnloadWorldEvent;
 import org.spongepowered.api.event.world.chunk.LoadChunkEvent;
 import org.spongepowered.api.event.world.chunk.UnloadChunkEvent;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.plugin.PluginManager;
 import org.spongepowered.asm.util.PrettyPrinter;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.event.EventType;
 import org.spongepowered.common.event.RegisteredListener;
 import org.spongepowered.common.event.SpongeEventManager;
 import org.spongepowered.mod.SpongeMod;
+import org.spongepowered.mod.bridge.event.CauseStackManagerBridge_Forge;
 import org.spongepowered.mod.bridge.event.EventBusBridge_Forge;
 import org.spongepowered.mod.bridge.fml.LoadControllerBridge_Forge;
 
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Function;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 @SuppressWarnings("rawtypes")
@@ -259,11 +263,39 @@ public class SpongeModEventManager extends SpongeEventManager {
 
                     .build();
 
+    /**
+     * The Sponge events whose {@link ShouldFire} flags are affected by a
+     * listener for a Forge event class, expanded over the Forge event's
+     * class hierarchy through {@link #forgeToSpongeEventMapping}.
+     */
+    private final ClassValue<Class<? extends Event>[]> shouldFireEventClasses = new ClassValue<Class<? extends Event>[]>() {
+        @SuppressWarnings("unchecked")
+        @Override
+        protected Class<? extends Event>[] computeValue(Class<?> type) {
+            final Set<Class<? extends Event>> spongeEvents = new LinkedHashSet<>();
+            for (Class<?> clazz : TypeToken.of(type).getTypes().rawTypes()) {
+                spongeEvents.addAll(SpongeModEventManager.this.forgeToSpongeEventMapping.get((Class) clazz));
+            }
+            return spongeEvents.toArray(new Class[0]);
+        }
+    };
+
     @Inject
     public SpongeModEventManager(Logger logger, PluginManager pluginManager) {
         super(logger, pluginManager);
     }
 
+    /**
+     * Gets the Sponge events whose {@link ShouldFire} flags need to be enabled
+     * while a listener for the given Forge event class is registered.
+     *
+     * @param forgeEventClass The forge event class
+     * @return The sponge event classes
+     */
+    public Class<? extends Event>[] getShouldFireEventClasses(Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass) {
+        return this.shouldFireEventClasses.get(forgeEventClass);
+    }
+
     private boolean areStartupTimingsEnabled() {
         return SpongeImpl.getGame().getState().ordinal() < GameState.SERVER_ABOUT_TO_START.ordinal();
     }
@@ -303,9 +335,13 @@ public boolean post(ForgeToSpongeEventData eventData) {
                 return true;
             }
 
-            final SpongeToForgeEventData spongeEventData = new SpongeToForgeEventData(eventData);
-            // Sync and fire event to mods
-            SpongeToForgeEventFactory.createAndPostForgeEvent(spongeEventData);
+            final SpongeToForgeEventData spongeEventData = SpongeToForgeEventData.acquire(eventData);
+            try {
+                // Sync and fire event to mods
+                SpongeToForgeEventFactory.createAndPostForgeEvent(spongeEventData);
+            } finally {
+                spongeEventData.release();
+            }
         }
 
         // Fire event to plugins after modifications (default)
@@ -329,11 +365,10 @@ private SpongeToForgeEventData post(SpongeToForgeEventData eventData) {
         final Event spongeEvent = eventData.getSpongeEvent();
         final boolean hasSpongeListeners = !eventData.getSpongeListenerCache().getListeners().isEmpty();
 
+        final SpongeEventDispatchPlan plan = SpongeEventDispatchPlan.of(eventData.getSpongeListenerCache());
         if (hasSpongeListeners) {
             // Fire event to plugins before modifications
-            for (Order order : Order.values()) {
-                post(spongeEvent, eventData.getSpongeListenerCache().getListenersByOrder(order), true, false, eventData.useCauseStackManager());
-            }
+            post(spongeEvent, plan.getSlice(true, false), eventData.useCauseStackManager());
         }
 
         SpongeToForgeEventFactory.createAndPostForgeEvent(eventData);
@@ -343,9 +378,7 @@ private SpongeToForgeEventData post(SpongeToForgeEventData eventData) {
             SpongeToForgeEventFactory.handlePrefireLogic(spongeEvent);
             // Fire event to plugins after modifications (default)
             // Note: We need to always fire to plugins if beforeModifications wasn't triggered due to no forge listeners
-            for (Order order : Order.values()) {
-                post(spongeEvent, eventData.getSpongeListenerCache().getListenersByOrder(order), false, false, eventData.useCauseStackManager());
-            }
+            post(spongeEvent, plan.getSlice(false, false), eventData.useCauseStackManager());
         }
 
         return eventData;
@@ -357,66 +390,131 @@ private SpongeToForgeEventData post(SpongeToForgeEventData eventData) {
      * @param eventData The event data
      */
     void postEvent(ForgeToSpongeEventData eventData) {
-        for (Order order : Order.values()) {
-            post(eventData.getSpongeEvent(), eventData.getSpongeListenerCache().getListenersByOrder(order), eventData.isBeforeModifications(), eventData.isForced(), eventData.useCauseStackManager());
-        }
+        final SpongeEventDispatchPlan plan = SpongeEventDispatchPlan.of(eventData.getSpongeListenerCache());
+        post(eventData.getSpongeEvent(), plan.getSlice(eventData.isBeforeModifications(), eventData.isForced()), eventData.useCauseStackManager());
         eventData.propagateCancelled();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Posts an event to the given plugin listeners, in the order of the list.
+     *
+     * @param event The event to post
+     * @param listeners The listeners
+     * @param beforeModifications Whether this is the pass before mods are
+     *     able to modify the event
+     * @param forced Whether all listeners should be called regardless of
+     *     their before modifications state
+     * @param useCauseStackManager Whether to push the plugin to the cause
+     *     stack for each listener
+     * @return true if cancelled, false if not
+     */
     public boolean post(Event event, List<RegisteredListener<?>> listeners, boolean beforeModifications, boolean forced,
             boolean useCauseStackManager) {
-        ModContainer oldContainer = ((LoadControllerBridge_Forge) SpongeMod.instance.getController()).forgeBridge$getActiveModContainer();
-        for (@SuppressWarnings("rawtypes")
-        RegisteredListener listener : listeners) {
-            ((LoadControllerBridge_Forge) SpongeMod.instance.getController()).forgeBridge$setActiveModContainer((ModContainer) listener.getPlugin());
-            try {
-                if (forced || (!listener.isBeforeModifications() && !beforeModifications)
-                        || (listener.isBeforeModifications() && beforeModifications)) {
+        return post(event, new SpongeEventDispatchPlan.Slice(listeners,
+                listener -> forced || listener.isBeforeModifications() == beforeModifications), useCauseStackManager);
+    }
+
+    /**
+     * Posts an event to a slice of plugin listeners, in order. The active
+     * mod container is only switched when the owning plugin changes.
+     *
+     * @param event The event to post
+     * @param slice The listeners to call
+     * @param useCauseStackManager Whether to push the plugin to the cause
+     *     stack for each listener, see {@link CauseStackManagerBridge_Forge}
+     * @return true if cancelled, false if not
+     */
+    private boolean post(Event event, SpongeEventDispatchPlan.Slice slice, boolean useCauseStackManager) {
+        return post((LoadControllerBridge_Forge) SpongeMod.instance.getController(), plugin -> (ModContainer) plugin, event, slice,
+                useCauseStackManager);
+    }
+
+    /**
+     * Posts an event to a slice of plugin listeners, switching the active
+     * mod container of the given load controller. Separate from the event
+     * manager so it can be benchmarked without a running game.
+     *
+     * @param controller The load controller
+     * @param containers Gets the mod container of a plugin
+     * @param event The event to post
+     * @param slice The listeners to call
+     * @param useCauseStackManager Whether to push the plugin to the cause
+     *     stack for each listener
+     * @return true if cancelled, false if not
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static boolean post(LoadControllerBridge_Forge controller, Function<PluginContainer, ModContainer> containers, Event event,
+            SpongeEventDispatchPlan.Slice slice, boolean useCauseStackManager) {
+        if (slice.isEmpty()) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        final ModContainer oldContainer = controller.forgeBridge$getActiveModContainer();
+        final RegisteredListener[] listeners = slice.listeners;
+        final boolean recordLatency = ListenerLatencyRecorder.isEnabled() && SpongeImplHooks.isMainThread();
+        int index = 0;
+        for (final int runEnd : slice.runEnds) {
+            controller.forgeBridge$setActiveModContainer(containers.apply(listeners[index].getPlugin()));
+            for (; index < runEnd; index++) {
+                final RegisteredListener listener = listeners[index];
+                if (ListenerCircuitBreaker.isQuarantined(listener)) {
+                    continue;
+                }
+                final long start = recordLatency ? System.nanoTime() : 0;
+                try {
                     listener.getTimingsHandler().startTimingIfSync();
                     if (event instanceof AbstractEvent) {
                         ((AbstractEvent) event).currentOrder = listener.getOrder();
                     }
                     if (useCauseStackManager) {
-                        try (CauseStackManager.StackFrame frame = Sponge.getCauseStackManager().pushCauseFrame()) {
-                            frame.pushCause(listener.getPlugin());
+                        // The frame holding the plugin is only pushed if the listener accesses the cause stack
+                        final CauseStackManagerBridge_Forge causeStackManager = (CauseStackManagerBridge_Forge) Sponge.getCauseStackManager();
+                        causeStackManager.forgeBridge$pushLazyCauseFrame(listener.getPlugin());
+                        try {
                             listener.handle(event);
+                        } finally {
+                            causeStackManager.forgeBridge$popLazyCauseFrame();
                         }
                     } else {
                         listener.handle(event);
                     }
+                } catch (Throwable e) {
+                    if (!ListenerCircuitBreaker.recordFailure(listener, listener.getPlugin().getId(), event.getClass(), e)) {
+                        continue;
+                    }
+                    new PrettyPrinter(60).add("%s %s", "Could not pass ", event.getClass().getSimpleName()).centre().hr()
+                            .add("Could not pass the event %s to an Event Listener!", event.getClass().getSimpleName())
+                            .add()
+                            .add("Since the event can be modified during the event's listener,")
+                            .add("there could be adverse side effects of the exception occurring")
+                            .add("such that duplications or other game breaking issues could exist.")
+                            .add()
+                            .add("Due to the nature of the exception, this is not likely an exception")
+                            .add("that is covered by SpongeForge or Forge itself, and therefore should")
+                            .add("be reported to the mod/plugin author first prior to reporting to")
+                            .add("Sponge or Forge.")
+                            .add()
+                            .add("%s: %s", "Owning Mod/Plugin", listener.getPlugin().getId())
+                            .add("Exception:")
+                            .add(e)
+                            .log(SpongeImpl.getLogger(), Level.WARN);
+                } finally {
+                    listener.getTimingsHandler().stopTimingIfSync();
+                    if (recordLatency) {
+                        ListenerLatencyRecorder.record(listener.getPlugin().getId(), event.getClass(), System.nanoTime() - start);
+                    }
                 }
-            } catch (Throwable e) {
-                new PrettyPrinter(60).add("%s %s", "Could not pass ", event.getClass().getSimpleName()).centre().hr()
-                        .add("Could not pass the event %s to an Event Listener!", event.getClass().getSimpleName())
-                        .add()
-                        .add("Since the event can be modified during the event's listener,")
-                        .add("there could be adverse side effects of the exception occurring")
-                        .add("such that duplications or other game breaking issues could exist.")
-                        .add()
-                        .add("Due to the nature of the exception, this is not likely an exception")
-                        .add("that is covered by SpongeForge or Forge itself, and therefore should")
-                        .add("be reported to the mod/plugin author first prior to reporting to")
-                        .add("Sponge or Forge.")
-                        .add()
-                        .add("%s: %s", "Owning Mod/Plugin", listener.getPlugin().getId())
-                        .add("Exception:")
-                        .add(e)
-                        .log(SpongeImpl.getLogger(), Level.WARN);
-            } finally {
-                listener.getTimingsHandler().stopTimingIfSync();
             }
         }
         if (event instanceof AbstractEvent) {
             ((AbstractEvent) event).currentOrder = null;
         }
-        ((LoadControllerBridge_Forge) SpongeMod.instance.getController()).forgeBridge$setActiveModContainer(oldContainer);
+        controller.forgeBridge$setActiveModContainer(oldContainer);
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
     @Override
     public boolean post(@Nonnull Event spongeEvent, boolean allowClientThread) {
-        this.extendedPost(spongeEvent, false, allowClientThread);
+        this.extendedPost(spongeEvent, false, allowClientThread, true);
         return spongeEvent instanceof Cancellable && ((Cancellable) spongeEvent).isCancelled();
     }
 
@@ -429,54 +527,64 @@ public boolean post(@Nonnull Event spongeEvent, boolean allowClientThread) {
      * @return event data if available
      */
     public SpongeToForgeEventData extendedPost(Event spongeEvent, boolean requiresEventData, boolean allowClientThread) {
+        return this.extendedPost(spongeEvent, requiresEventData, allowClientThread, false);
+    }
+
+    /**
+     * Posts event and will return corresponding event data if required.
+     *
+     * @param spongeEvent The sponge event to post
+     * @param requiresEventData Whether to return event data
+     * @param allowClientThread Whether client thread is allowed to post event
+     * @param discardEventData Whether the caller discards the returned event
+     *     data, allowing it to be reused
+     * @return event data if available
+     */
+    @Nullable
+    private SpongeToForgeEventData extendedPost(Event spongeEvent, boolean requiresEventData, boolean allowClientThread, boolean discardEventData) {
         if (!allowClientThread & Sponge.getGame().getPlatform().getExecutionType().isClient()) {
             return null;
         }
 
         final boolean useCauseStackManager = shouldUseCauseStackManager(allowClientThread);
         final RegisteredListener.Cache listenerCache = getHandlerCache(spongeEvent);
+        final SpongeToForgeEventMapping mapping = SpongeToForgeEventMapping.of(spongeEvent);
         Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz = null;
-        if (!isIgnoredEvent(spongeEvent)) {
-            if (spongeEvent.getClass().getInterfaces().length > 0) {
-                clazz = SpongeToForgeEventFactory.getForgeEventClass(spongeEvent);
-                if (clazz != null) {
-                    final Set<Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> forgeListenerClassList = ((EventBusBridge_Forge) MinecraftForge.EVENT_BUS).forgeBridge$getEventListenerClassList();
-                    boolean hasListener = forgeListenerClassList.contains(clazz);
-                    if (!hasListener) {
-                        // check super class
-                        hasListener = forgeListenerClassList.contains(clazz.getSuperclass());
-                    }
-                    if (hasListener) {
-                        return post(new SpongeToForgeEventData(spongeEvent, clazz, listenerCache, useCauseStackManager));
+        if (mapping.hasForgeListeners()) {
+            clazz = mapping.getForgeEventClass(spongeEvent);
+            if (clazz != null && mapping.hasForgeListener(clazz)) {
+                if (EventCensus.isEnabled()) {
+                    EventCensus.record(spongeEvent, listenerCache, true);
+                }
+                if (discardEventData) {
+                    final SpongeToForgeEventData eventData = SpongeToForgeEventData.acquire(spongeEvent, clazz, listenerCache, useCauseStackManager);
+                    try {
+                        post(eventData);
+                    } finally {
+                        eventData.release();
                     }
+                    return null;
                 }
+                return post(new SpongeToForgeEventData(spongeEvent, clazz, listenerCache, useCauseStackManager));
             }
         }
 
-        // no checking for modifications required
-        for (Order order : Order.values()) {
-            post(spongeEvent, listenerCache.getListenersByOrder(order), false, true, useCauseStackManager);
+        if (EventCensus.isEnabled()) {
+            EventCensus.record(spongeEvent, listenerCache, false);
         }
+        // no checking for modifications required
+        post(spongeEvent, SpongeEventDispatchPlan.of(listenerCache).getSlice(false, true), useCauseStackManager);
         if (requiresEventData) {
+            if (clazz == null) {
+                clazz = mapping.getForgeEventClass(spongeEvent);
+            }
             return new SpongeToForgeEventData(spongeEvent, clazz, listenerCache, useCauseStackManager);
         }
         return null;
     }
 
     public boolean isIgnoredEvent(Event event) {
-        if (event instanceof CollideEvent) {
-            return true;
-        }
-        if (event instanceof ChangeStatisticEvent) {
-            return true;
-        }
-        if (event instanceof ChangeDataHolderEvent) {
-            return true;
-        }
-        if (event instanceof MoveEntityEvent && !(event instanceof MoveEntityEvent.Teleport)) {
-            return true;
-        }
-        return false;
+        return SpongeToForgeEventMapping.isIgnoredEvent(event.getClass());
     }
 
     public RegisteredListener.Cache getHandlerCache(Class<? extends Event> eventClass) {
@@ -30,25 +30,82 @@
 
 public class SpongeToForgeEventData {
 
-    private final Event spongeEvent;
-    private final Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass;
-    private final RegisteredListener.Cache listenerCache;
-    private final boolean useCauseStackManager;
+    private static final EventDataPool<SpongeToForgeEventData> pool = new EventDataPool<>(16, SpongeToForgeEventData::new);
+
+    private Event spongeEvent;
+    private Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass;
+    private RegisteredListener.Cache listenerCache;
+    private boolean useCauseStackManager;
     private net.minecraftforge.fml.common.eventhandler.Event forgeEvent;
 
     public SpongeToForgeEventData(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass, RegisteredListener.Cache cache, boolean useCauseStackManager) {
+        this.init(spongeEvent, forgeClass, cache, useCauseStackManager, null);
+    }
+
+    public SpongeToForgeEventData(ForgeToSpongeEventData eventData) {
+        this.init(eventData.getSpongeEvent(), eventData.getForgeEvent().getClass(), eventData.getSpongeListenerCache(), eventData.useCauseStackManager(),
+            eventData.getForgeEvent());
+    }
+
+    private SpongeToForgeEventData() {
+    }
+
+    /**
+     * Obtains event data for a sponge event. On the main thread, the
+     * returned instance is reused and has to be handed back through
+     * {@link #release()} once the event has been posted, so it must not be
+     * handed out to callers.
+     *
+     * @param spongeEvent The sponge event
+     * @param forgeClass The forge event class to post
+     * @param cache The sponge listener cache of the event
+     * @param useCauseStackManager Whether to use the cause stack manager
+     * @return The event data
+     */
+    public static SpongeToForgeEventData acquire(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass,
+        RegisteredListener.Cache cache, boolean useCauseStackManager) {
+        final SpongeToForgeEventData eventData = pool.acquire();
+        if (eventData == null) {
+            return new SpongeToForgeEventData(spongeEvent, forgeClass, cache, useCauseStackManager);
+        }
+        eventData.init(spongeEvent, forgeClass, cache, useCauseStackManager, null);
+        return eventData;
+    }
+
+    /**
+     * Obtains event data for posting a forge initiated event to mods. See
+     * {@link #acquire(Event, Class, RegisteredListener.Cache, boolean)}.
+     *
+     * @param eventData The forge event data
+     * @return The event data
+     */
+    public static SpongeToForgeEventData acquire(ForgeToSpongeEventData eventData) {
+        final SpongeToForgeEventData spongeEventData = pool.acquire();
+        if (spongeEventData == null) {
+            return new SpongeToForgeEventData(eventData);
+        }
+        spongeEventData.init(eventData.getSpongeEvent(), eventData.getForgeEvent().getClass(), eventData.getSpongeListenerCache(),
+            eventData.useCauseStackManager(), eventData.getForgeEvent());
+        return spongeEventData;
+    }
+
+    /**
+     * Hands event data obtained through {@code acquire} back for reuse. The
+     * event data must not be used afterwards.
+     */
+    public void release() {
+        if (pool.release(this)) {
+            this.init(null, null, null, false, null);
+        }
+    }
+
+    private void init(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass, RegisteredListener.Cache cache,
+        boolean useCauseStackManager, net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
         this.spongeEvent = spongeEvent;
         this.forgeClass = forgeClass;
         this.listenerCache = cache;
         this.useCauseStackManager = useCauseStackManager;
-    }
-
-    public SpongeToForgeEventData(ForgeToSpongeEventData eventData) {
-        this.spongeEvent = eventData.getSpongeEvent();
-        this.forgeClass = eventData.getForgeEvent().getClass();
-        this.listenerCache = eventData.getSpongeListenerCache();
-        this.useCauseStackManager = eventData.useCauseStackManager();
-        this.forgeEvent = eventData.getForgeEvent();
+        this.forgeEvent = forgeEvent;
     }
 
     public boolean useCauseStackManager() {
@@ -47,9 +47,7 @@
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.ServerChatEvent;
 import net.minecraftforge.event.entity.EntityJoinWorldEvent;
-import net.minecraftforge.event.entity.EntityTravelToDimensionEvent;
 import net.minecraftforge.event.entity.item.ItemTossEvent;
-import net.minecraftforge.event.entity.living.LivingDeathEvent;
 import net.minecraftforge.event.entity.living.LivingDropsEvent;
 import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
@@ -79,9 +77,7 @@
 import org.spongepowered.api.event.cause.entity.spawn.SpawnType;
 import org.spongepowered.api.event.cause.entity.spawn.SpawnTypes;
 import org.spongepowered.api.event.entity.AffectEntityEvent;
-import org.spongepowered.api.event.entity.DestructEntityEvent;
 import org.spongepowered.api.event.entity.InteractEntityEvent;
-import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.event.entity.SpawnEntityEvent;
 import org.spongepowered.api.event.item.inventory.ChangeInventoryEvent;
 import org.spongepowered.api.event.item.inventory.DropItemEvent;
@@ -136,28 +132,18 @@ public class SpongeToForgeEventFactory {
     static final EventBusBridge_Forge forgeEventBus = ((EventBusBridge_Forge) MinecraftForge.EVENT_BUS);
 
     /**
-     * Used by {@link SpongeModEventManager#extendedPost} to obtain
-     * corresponding forge event class if available.
+     * Used by {@link SpongeToForgeEventMapping} to obtain the corresponding
+     * forge event class for sponge events whose forge event depends on
+     * the state of the event rather than only its class.
      * 
      * @param spongeEvent The sponge event to check against forge
      * @return The forge event class, if available
      */
-    static Class<? extends net.minecraftforge.fml.common.eventhandler.Event> getForgeEventClass(final Event spongeEvent) {
-        if (spongeEvent instanceof MessageChannelEvent.Chat) {
-            return ServerChatEvent.class;
-        } else if (spongeEvent instanceof ChangeInventoryEvent.Pickup.Pre) {
+    static Class<? extends net.minecraftforge.fml.common.eventhandler.Event> resolveForgeEventClass(final Event spongeEvent) {
+        if (spongeEvent instanceof ChangeInventoryEvent.Pickup.Pre) {
             if (spongeEvent.getCause().root() instanceof Player) {
                 return EntityItemPickupEvent.class;
             }
-        } else if (spongeEvent instanceof DestructEntityEvent.Death) {
-            return LivingDeathEvent.class;
-        } else if (spongeEvent instanceof InteractBlockEvent) {
-            if (spongeEvent instanceof InteractBlockEvent.Primary) {
-                return PlayerInteractEvent.LeftClickBlock.class;
-            }
-            if (spongeEvent instanceof  InteractBlockEvent.Secondary) {
-                return PlayerInteractEvent.RightClickBlock.class;
-            }
         } else if (spongeEvent instanceof InteractEntityEvent.Secondary) {
             final InteractEntityEvent event = (InteractEntityEvent) spongeEvent;
             if (event.getInteractionPoint().isPresent()) {
@@ -165,19 +151,11 @@ static Class<? extends net.minecraftforge.fml.common.eventhandler.Event> getForg
             } else {
                 return PlayerInteractEvent.EntityInteract.class;
             }
-        } else if (spongeEvent instanceof InteractItemEvent.Secondary) {
-            return PlayerInteractEvent.RightClickItem.class;
-        } else if (spongeEvent instanceof NotifyNeighborBlockEvent) {
-            return BlockEvent.NeighborNotifyEvent.class;
         } else if (spongeEvent instanceof ChangeBlockEvent.Place) {
             if (((ChangeBlockEvent) spongeEvent).getTransactions().size() > 1) {
                 return BlockEvent.MultiPlaceEvent.class;
             }
             return BlockEvent.PlaceEvent.class;
-        } else if (spongeEvent instanceof ExplosionEvent.Pre) {
-            return net.minecraftforge.event.world.ExplosionEvent.Start.class;
-        } else if (spongeEvent instanceof ExplosionEvent.Detonate) {
-            return net.minecraftforge.event.world.ExplosionEvent.Detonate.class;
         } else if (spongeEvent instanceof DropItemEvent) {
             final Object source = spongeEvent.getSource();
             if (spongeEvent instanceof DropItemEvent.Destruct && (source instanceof Living || source instanceof DamageSource)) {
@@ -192,44 +170,6 @@ static Class<? extends net.minecraftforge.fml.common.eventhandler.Event> getForg
                 }
                 return null;
             }
-        } else if (spongeEvent instanceof ClientConnectionEvent) {
-            if (spongeEvent instanceof ClientConnectionEvent.Join) {
-                return PlayerEvent.PlayerLoggedInEvent.class;
-            }
-            if (spongeEvent instanceof ClientConnectionEvent.Disconnect) {
-                return PlayerEvent.PlayerLoggedOutEvent.class;
-            }
-        } else if (spongeEvent instanceof MoveEntityEvent.Teleport) {
-            return EntityTravelToDimensionEvent.class;
-        } else if (spongeEvent instanceof SpawnEntityEvent) {
-            return EntityJoinWorldEvent.class;
-        } else if (spongeEvent instanceof LoadWorldEvent) {
-            return WorldEvent.Load.class;
-        } else if (spongeEvent instanceof UnloadWorldEvent) {
-            return WorldEvent.Unload.class;
-        } else if (spongeEvent instanceof SaveWorldEvent.Post) {
-            return WorldEvent.Save.class;
-        } else if (spongeEvent instanceof LoadChunkEvent) {
-            return ChunkEvent.Load.class;
-        } else if (spongeEvent instanceof UnloadChunkEvent) {
-            return ChunkEvent.Unload.class;
-        } else if (spongeEvent instanceof FishingEvent.Stop) {
-            return ItemFishedEvent.class;
-        } else if (spongeEvent instanceof UseItemStackEvent) {
-            if (spongeEvent instanceof UseItemStackEvent.Start) {
-                return LivingEntityUseItemEvent.Start.class;
-            }
-            if (spongeEvent instanceof UseItemStackEvent.Tick) {
-                return LivingEntityUseItemEvent.Tick.class;
-            }
-            if (spongeEvent instanceof UseItemStackEvent.Stop) {
-                return LivingEntityUseItemEvent.Stop.class;
-            }
-            if (spongeEvent instanceof UseItemStackEvent.Replace) {
-                return LivingEntityUseItemEvent.Finish.class;
-            }
-        } else if (spongeEvent instanceof AdvancementEvent.Grant) {
-            return net.minecraftforge.event.entity.player.AdvancementEvent.class;
         }
         return null;
     }
@@ -0,0 +1,325 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.ServerChatEvent;
+import net.minecraftforge.event.entity.EntityJoinWorldEvent;
+import net.minecraftforge.event.entity.EntityTravelToDimensionEvent;
+import net.minecraftforge.event.entity.item.ItemTossEvent;
+import net.minecraftforge.event.entity.living.LivingDeathEvent;
+import net.minecraftforge.event.entity.living.LivingDropsEvent;
+import net.minecraftforge.event.entity.living.LivingEntityUseItemEvent;
+import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
+import net.minecraftforge.event.entity.player.ItemFishedEvent;
+import net.minecraftforge.event.entity.player.PlayerInteractEvent;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.gameevent.PlayerEvent;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.action.CollideEvent;
+import org.spongepowered.api.event.action.FishingEvent;
+import org.spongepowered.api.event.advancement.AdvancementEvent;
+import org.spongepowered.api.event.block.ChangeBlockEvent;
+import org.spongepowered.api.event.block.InteractBlockEvent;
+import org.spongepowered.api.event.block.NotifyNeighborBlockEvent;
+import org.spongepowered.api.event.data.ChangeDataHolderEvent;
+import org.spongepowered.api.event.entity.DestructEntityEvent;
+import org.spongepowered.api.event.entity.InteractEntityEvent;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.entity.SpawnEntityEvent;
+import org.spongepowered.api.event.item.inventory.ChangeInventoryEvent;
+import org.spongepowered.api.event.item.inventory.DropItemEvent;
+import org.spongepowered.api.event.item.inventory.InteractItemEvent;
+import org.spongepowered.api.event.item.inventory.UseItemStackEvent;
+import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.event.statistic.ChangeStatisticEvent;
+import org.spongepowered.api.event.world.ExplosionEvent;
+import org.spongepowered.api.event.world.LoadWorldEvent;
+import org.spongepowered.api.event.world.SaveWorldEvent;
+import org.spongepowered.api.event.world.UnloadWorldEvent;
+import org.spongepowered.api.event.world.chunk.LoadChunkEvent;
+import org.spongepowered.api.event.world.chunk.UnloadChunkEvent;
+import org.spongepowered.mod.bridge.event.EventBusBridge_Forge;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.Nullable;
+
+/**
+ * The forge event classes a sponge event implementation class can be
+ * bridged to, resolved once per class. Whether any of those forge events
+ * has a registered mod listener is cached as well, and invalidated through
+ * {@link #invalidateListeners()} whenever the set of forge listener classes
+ * changes.
+ */
+public final class SpongeToForgeEventMapping {
+
+    private static final ClassValue<SpongeToForgeEventMapping> MAPPINGS = new ClassValue<SpongeToForgeEventMapping>() {
+        @Override
+        protected SpongeToForgeEventMapping computeValue(final Class<?> type) {
+            return new SpongeToForgeEventMapping(type);
+        }
+    };
+
+    @SuppressWarnings("unchecked")
+    private static final Class<? extends net.minecraftforge.fml.common.eventhandler.Event>[] NONE = new Class[0];
+
+    private static final AtomicInteger listenerGeneration = new AtomicInteger(1);
+    private static final ListenerState STALE = new ListenerState(0, new boolean[0], false);
+
+    static SpongeToForgeEventMapping of(final Event spongeEvent) {
+        return MAPPINGS.get(spongeEvent.getClass());
+    }
+
+    /**
+     * Marks the cached listener state of all mappings as stale. Called by the
+     * forge event bus whenever a forge event class gains its first or loses
+     * its last listener.
+     */
+    public static void invalidateListeners() {
+        listenerGeneration.incrementAndGet();
+    }
+
+    private final Class<? extends net.minecraftforge.fml.common.eventhandler.Event>[] forgeClasses;
+    // Whether the forge class has to be resolved from the event instance
+    private final boolean dynamic;
+    // Replaced as a whole, so other threads never see a partially refreshed state
+    private volatile ListenerState listenerState = STALE;
+
+    @SuppressWarnings("unchecked")
+    private SpongeToForgeEventMapping(final Class<?> type) {
+        if (type.getInterfaces().length == 0 || isIgnoredEvent(type)) {
+            this.forgeClasses = NONE;
+            this.dynamic = false;
+        } else if (MessageChannelEvent.Chat.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {ServerChatEvent.class};
+            this.dynamic = false;
+        } else if (ChangeInventoryEvent.Pickup.Pre.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {EntityItemPickupEvent.class};
+            this.dynamic = true;
+        } else if (DestructEntityEvent.Death.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {LivingDeathEvent.class};
+            this.dynamic = false;
+        } else if (InteractBlockEvent.class.isAssignableFrom(type)) {
+            if (InteractBlockEvent.Primary.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {PlayerInteractEvent.LeftClickBlock.class};
+            } else if (InteractBlockEvent.Secondary.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {PlayerInteractEvent.RightClickBlock.class};
+            } else {
+                this.forgeClasses = NONE;
+            }
+            this.dynamic = false;
+        } else if (InteractEntityEvent.Secondary.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {PlayerInteractEvent.EntityInteractSpecific.class, PlayerInteractEvent.EntityInteract.class};
+            this.dynamic = true;
+        } else if (InteractItemEvent.Secondary.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {PlayerInteractEvent.RightClickItem.class};
+            this.dynamic = false;
+        } else if (NotifyNeighborBlockEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {BlockEvent.NeighborNotifyEvent.class};
+            this.dynamic = false;
+        } else if (ChangeBlockEvent.Place.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {BlockEvent.MultiPlaceEvent.class, BlockEvent.PlaceEvent.class};
+            this.dynamic = true;
+        } else if (ExplosionEvent.Pre.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {net.minecraftforge.event.world.ExplosionEvent.Start.class};
+            this.dynamic = false;
+        } else if (ExplosionEvent.Detonate.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {net.minecraftforge.event.world.ExplosionEvent.Detonate.class};
+            this.dynamic = false;
+        } else if (DropItemEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {LivingDropsEvent.class, ItemTossEvent.class, EntityJoinWorldEvent.class};
+            this.dynamic = true;
+        } else if (ClientConnectionEvent.class.isAssignableFrom(type)) {
+            if (ClientConnectionEvent.Join.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {PlayerEvent.PlayerLoggedInEvent.class};
+            } else if (ClientConnectionEvent.Disconnect.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {PlayerEvent.PlayerLoggedOutEvent.class};
+            } else {
+                this.forgeClasses = NONE;
+            }
+            this.dynamic = false;
+        } else if (MoveEntityEvent.Teleport.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {EntityTravelToDimensionEvent.class};
+            this.dynamic = false;
+        } else if (SpawnEntityEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {EntityJoinWorldEvent.class};
+            this.dynamic = false;
+        } else if (LoadWorldEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {WorldEvent.Load.class};
+            this.dynamic = false;
+        } else if (UnloadWorldEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {WorldEvent.Unload.class};
+            this.dynamic = false;
+        } else if (SaveWorldEvent.Post.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {WorldEvent.Save.class};
+            this.dynamic = false;
+        } else if (LoadChunkEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {ChunkEvent.Load.class};
+            this.dynamic = false;
+        } else if (UnloadChunkEvent.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {ChunkEvent.Unload.class};
+            this.dynamic = false;
+        } else if (FishingEvent.Stop.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {ItemFishedEvent.class};
+            this.dynamic = false;
+        } else if (UseItemStackEvent.class.isAssignableFrom(type)) {
+            if (UseItemStackEvent.Start.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {LivingEntityUseItemEvent.Start.class};
+            } else if (UseItemStackEvent.Tick.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {LivingEntityUseItemEvent.Tick.class};
+            } else if (UseItemStackEvent.Stop.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {LivingEntityUseItemEvent.Stop.class};
+            } else if (UseItemStackEvent.Replace.class.isAssignableFrom(type)) {
+                this.forgeClasses = new Class[] {LivingEntityUseItemEvent.Finish.class};
+            } else {
+                this.forgeClasses = NONE;
+            }
+            this.dynamic = false;
+        } else if (AdvancementEvent.Grant.class.isAssignableFrom(type)) {
+            this.forgeClasses = new Class[] {net.minecraftforge.event.entity.player.AdvancementEvent.class};
+            this.dynamic = false;
+        } else {
+            this.forgeClasses = NONE;
+            this.dynamic = false;
+        }
+    }
+
+    static boolean isIgnoredEvent(final Class<?> type) {
+        if (CollideEvent.class.isAssignableFrom(type)) {
+            return true;
+        }
+        if (ChangeStatisticEvent.class.isAssignableFrom(type)) {
+            return true;
+        }
+        if (ChangeDataHolderEvent.class.isAssignableFrom(type)) {
+            return true;
+        }
+        return MoveEntityEvent.class.isAssignableFrom(type) && !MoveEntityEvent.Teleport.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Gets the forge event class the sponge event should be posted as.
+     *
+     * @param spongeEvent The sponge event, must be an instance of the mapped class
+     * @return The forge event class, if available
+     */
+    @Nullable
+    Class<? extends net.minecraftforge.fml.common.eventhandler.Event> getForgeEventClass(final Event spongeEvent) {
+        if (this.dynamic) {
+            return SpongeToForgeEventFactory.resolveForgeEventClass(spongeEvent);
+        }
+        return this.forgeClasses.length == 0 ? null : this.forgeClasses[0];
+    }
+
+    /**
+     * Gets whether any forge event this mapping can produce has a mod listener,
+     * including listeners registered for any forge event superclass.
+     *
+     * @return True if a forge listener may need to receive the event
+     */
+    boolean hasForgeListeners() {
+        if (this.forgeClasses.length == 0) {
+            return false;
+        }
+        return getListenerState().anyListened;
+    }
+
+    /**
+     * Gets whether the given forge event class, previously obtained through
+     * {@link #getForgeEventClass(Event)}, has a mod listener.
+     *
+     * @param forgeClass The forge event class
+     * @return True if a forge listener needs to receive the event
+     */
+    boolean hasForgeListener(final Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeClass) {
+        if (this.forgeClasses.length == 0) {
+            return false;
+        }
+        final ListenerState state = getListenerState();
+        if (!state.anyListened) {
+            return false;
+        }
+        for (int i = 0; i < this.forgeClasses.length; i++) {
+            if (this.forgeClasses[i] == forgeClass) {
+                return state.listened[i];
+            }
+        }
+        return hasListenerInHierarchy(forgeClass);
+    }
+
+    private ListenerState getListenerState() {
+        final ListenerState state = this.listenerState;
+        // Read the generation first, a concurrent invalidation will simply cause another refresh
+        final int generation = listenerGeneration.get();
+        if (state.generation == generation) {
+            return state;
+        }
+        final boolean[] listened = new boolean[this.forgeClasses.length];
+        boolean anyListened = false;
+        for (int i = 0; i < this.forgeClasses.length; i++) {
+            listened[i] = hasListenerInHierarchy(this.forgeClasses[i]);
+            anyListened |= listened[i];
+        }
+        final ListenerState refreshed = new ListenerState(generation, listened, anyListened);
+        this.listenerState = refreshed;
+        return refreshed;
+    }
+
+    /**
+     * Gets whether a mod listens to the forge event class or any of its
+     * superclasses on the forge event bus.
+     *
+     * @param forgeClass The forge event class
+     * @return True if the event has a mod listener
+     */
+    public static boolean hasListenerInHierarchy(final Class<?> forgeClass) {
+        final Set<Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> forgeListenerClassList =
+            ((EventBusBridge_Forge) MinecraftForge.EVENT_BUS).forgeBridge$getEventListenerClassList();
+        for (Class<?> clazz = forgeClass; clazz != null; clazz = clazz.getSuperclass()) {
+            if (forgeListenerClassList.contains(clazz)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class ListenerState {
+
+        final int generation;
+        final boolean[] listened;
+        final boolean anyListened;
+
+        ListenerState(final int generation, final boolean[] listened, final boolean anyListened) {
+            this.generation = generation;
+            this.listened = listened;
+            this.anyListened = anyListened;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.block.state;
+
+import net.minecraft.block.state.BlockStateContainer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.mod.bridge.block.BlockStateBridge_Forge;
+
+@Mixin(BlockStateContainer.StateImplementation.class)
+public abstract class StateImplementationMixin_Forge implements BlockStateBridge_Forge {
+
+    private int forgeImpl$lightValue = -1;
+    private int forgeImpl$lightOpacity = -1;
+
+    @Override
+    public int forgeBridge$getLightValue() {
+        return this.forgeImpl$lightValue;
+    }
+
+    @Override
+    public int forgeBridge$getLightOpacity() {
+        return this.forgeImpl$lightOpacity;
+    }
+
+    @Override
+    public void forgeBridge$setLighting(final int lightValue, final int lightOpacity) {
+        this.forgeImpl$lightValue = lightValue;
+        this.forgeImpl$lightOpacity = lightOpacity;
+    }
+}
@@ -121,6 +121,7 @@
 import org.spongepowered.common.util.SpawnerSpawnType;
 import org.spongepowered.common.util.TristateUtil;
 import org.spongepowered.mod.bridge.block.BlockBridge_Forge;
+import org.spongepowered.mod.bridge.block.BlockStateBridge_Forge;
 import org.spongepowered.mod.bridge.event.EventBusBridge_Forge;
 import org.spongepowered.mod.bridge.item.ItemStackBridge_Forge;
 import org.spongepowered.mod.bridge.registry.VillagerProfessionBridge_Forge;
@@ -319,6 +320,12 @@ public static boolean isBlockFlammable(final Block block, final IBlockAccess wor
      */
     @Overwrite
     public static int getBlockLightOpacity(final IBlockState state, final IBlockAccess world, final BlockPos pos) {
+        if (state instanceof BlockStateBridge_Forge) {
+            final int lightOpacity = ((BlockStateBridge_Forge) state).forgeBridge$getLightOpacity();
+            if (lightOpacity != -1) {
+                return lightOpacity;
+            }
+        }
         return state.getLightOpacity(world, pos);
     }
 
@@ -329,6 +336,12 @@ public static int getBlockLightOpacity(final IBlockState state, final IBlockAcce
     @Overwrite
     @SuppressWarnings("deprecation")
     public static int getChunkPosLight(final IBlockState blockState, final net.minecraft.world.World worldObj, final BlockPos pos) {
+        if (blockState instanceof BlockStateBridge_Forge) {
+            final int lightValue = ((BlockStateBridge_Forge) blockState).forgeBridge$getLightValue();
+            if (lightValue != -1) {
+                return lightValue;
+            }
+        }
         if (((BlockBridge_Forge) blockState.getBlock()).forgeBridge$requiresLocationCheckForLightValue()) {
             return blockState.getLightValue(worldObj, pos);
         }
@@ -674,7 +687,17 @@ public static PluginContainer getActiveModContainer() {
      */
     @Overwrite
     public static Text getAdditionalCommandDescriptions() {
-        return Text.of(SpongeCommandFactory.INDENT, SpongeCommandFactory.title("mods"), SpongeCommandFactory.LONG_INDENT, "List currently installed mods");
+        return Text.of(SpongeCommandFactory.INDENT, SpongeCommandFactory.title("mods"), SpongeCommandFactory.LONG_INDENT, "List currently installed mods",
+            Text.NEW_LINE, SpongeCommandFactory.INDENT, SpongeCommandFactory.title("listeners"), SpongeCommandFactory.LONG_INDENT,
+            "Show latencies and quarantined mod and plugin event listeners",
+            Text.NEW_LINE, SpongeCommandFactory.INDENT, SpongeCommandFactory.title("census"), SpongeCommandFactory.LONG_INDENT,
+            "Count the events posted without any listener",
+            Text.NEW_LINE, SpongeCommandFactory.INDENT, SpongeCommandFactory.title("prefetch"), SpongeCommandFactory.LONG_INDENT,
+            "Show the hit rate of chunks prefetched ahead of moving players",
+            Text.NEW_LINE, SpongeCommandFactory.INDENT, SpongeCommandFactory.title("pregen"), SpongeCommandFactory.LONG_INDENT,
+            "Pregenerate the chunks of a world while the server has time to spare",
+            Text.NEW_LINE, SpongeCommandFactory.INDENT, SpongeCommandFactory.title("dormant"), SpongeCommandFactory.LONG_INDENT,
+            "Show the hit rate of the dormant chunk cache");
     }
 
     /**
@@ -684,6 +707,11 @@ public static Text getAdditionalCommandDescriptions() {
     @Overwrite
     public static void registerAdditionalCommands(final ChildCommandElementExecutor flagChildren, final ChildCommandElementExecutor nonFlagChildren) {
         nonFlagChildren.register(SpongeForgeCommandFactory.createSpongeModsCommand(), "mods");
+        nonFlagChildren.register(SpongeForgeCommandFactory.createSpongeListenersCommand(), "listeners");
+        nonFlagChildren.register(SpongeForgeCommandFactory.createSpongeCensusCommand(), "census");
+        nonFlagChildren.register(SpongeForgeCommandFactory.createSpongePrefetchCommand(), "prefetch");
+        nonFlagChildren.register(SpongeForgeCommandFactory.createSpongePregenCommand(), "pregen");
+        nonFlagChildren.register(SpongeForgeCommandFactory.createSpongeDormantCommand(), "dormant");
     }
 
     /**
@@ -0,0 +1,116 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.common.event;
+
+import org.spongepowered.api.event.CauseStackManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.common.event.SpongeCauseStackManager;
+import org.spongepowered.mod.bridge.event.CauseStackManagerBridge_Forge;
+
+import java.util.Arrays;
+
+/**
+ * Plugin listeners are invoked within a cause frame holding the plugin, but
+ * most listeners never look at the cause stack. Those frames are therefore
+ * only pushed once the cause stack is accessed through the API.
+ */
+@Mixin(value = SpongeCauseStackManager.class, remap = false)
+public abstract class SpongeCauseStackManagerMixin_Forge implements CauseStackManager, CauseStackManagerBridge_Forge {
+
+    private Object[] forgeImpl$lazyCauses = new Object[16];
+    // Only the top lazy frame can be unmaterialized, any lower ones are pushed before a new one is recorded
+    private StackFrame[] forgeImpl$lazyFrames = new StackFrame[16];
+    private int forgeImpl$lazyDepth;
+    private boolean forgeImpl$materializing;
+
+    @Override
+    public void forgeBridge$pushLazyCauseFrame(final Object cause) {
+        this.forgeImpl$materializeLazyFrame();
+        if (this.forgeImpl$lazyDepth == this.forgeImpl$lazyCauses.length) {
+            this.forgeImpl$lazyCauses = Arrays.copyOf(this.forgeImpl$lazyCauses, this.forgeImpl$lazyDepth * 2);
+            this.forgeImpl$lazyFrames = Arrays.copyOf(this.forgeImpl$lazyFrames, this.forgeImpl$lazyDepth * 2);
+        }
+        this.forgeImpl$lazyCauses[this.forgeImpl$lazyDepth++] = cause;
+    }
+
+    @Override
+    public void forgeBridge$popLazyCauseFrame() {
+        final int index = --this.forgeImpl$lazyDepth;
+        final StackFrame frame = this.forgeImpl$lazyFrames[index];
+        this.forgeImpl$lazyCauses[index] = null;
+        this.forgeImpl$lazyFrames[index] = null;
+        if (frame != null) {
+            this.popCauseFrame(frame);
+        }
+    }
+
+    private void forgeImpl$materializeLazyFrame() {
+        if (this.forgeImpl$materializing || this.forgeImpl$lazyDepth == 0) {
+            return;
+        }
+        final int index = this.forgeImpl$lazyDepth - 1;
+        if (this.forgeImpl$lazyFrames[index] != null) {
+            return;
+        }
+        this.forgeImpl$materializing = true;
+        try {
+            this.forgeImpl$lazyFrames[index] = this.pushCauseFrame();
+            this.pushCause(this.forgeImpl$lazyCauses[index]);
+        } finally {
+            this.forgeImpl$materializing = false;
+        }
+    }
+
+    @Inject(
+        method = {
+            "getCurrentCause()Lorg/spongepowered/api/event/cause/Cause;",
+            "getCurrentContext()Lorg/spongepowered/api/event/cause/EventContext;",
+            "pushCause(Ljava/lang/Object;)Lorg/spongepowered/api/event/CauseStackManager;",
+            "popCause()Ljava/lang/Object;",
+            "peekCause()Ljava/lang/Object;",
+            "pushCauseFrame()Lorg/spongepowered/api/event/CauseStackManager$StackFrame;",
+            "addContext(Lorg/spongepowered/api/event/cause/EventContextKey;Ljava/lang/Object;)Lorg/spongepowered/api/event/CauseStackManager;",
+            "getContext(Lorg/spongepowered/api/event/cause/EventContextKey;)Ljava/util/Optional;",
+            "removeContext(Lorg/spongepowered/api/event/cause/EventContextKey;)Ljava/util/Optional;"
+        },
+        at = @At("HEAD"))
+    private void forgeImpl$materializeBeforeAccess(final CallbackInfoReturnable<?> cir) {
+        this.forgeImpl$materializeLazyFrame();
+    }
+
+    @Inject(
+        method = {
+            "popCauses(I)V",
+            "popCauseFrame(Lorg/spongepowered/api/event/CauseStackManager$StackFrame;)V"
+        },
+        at = @At("HEAD"))
+    private void forgeImpl$materializeBeforeModification(final CallbackInfo ci) {
+        this.forgeImpl$materializeLazyFrame();
+    }
+}
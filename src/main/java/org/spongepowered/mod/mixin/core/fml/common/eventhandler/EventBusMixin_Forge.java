@@ -29,16 +29,9 @@
 import co.aikar.timings.Timing;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Sets;
-import com.google.common.reflect.TypeToken;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import it.unimi.dsi.fastutil.objects.Reference2ReferenceOpenHashMap;
-import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
-import net.minecraft.world.World;
-import net.minecraftforge.event.AttachCapabilitiesEvent;
-import net.minecraftforge.event.entity.EntityEvent;
-import net.minecraftforge.event.entity.living.LivingDropsEvent;
-import net.minecraftforge.event.world.GetCollisionBoxesEvent;
-import net.minecraftforge.event.world.WorldEvent;
-import net.minecraftforge.fluids.FluidRegistry;
 import net.minecraftforge.fml.common.ModContainer;
 import net.minecraftforge.fml.common.eventhandler.Event;
 import net.minecraftforge.fml.common.eventhandler.EventBus;
@@ -46,9 +39,6 @@
 import net.minecraftforge.fml.common.eventhandler.IEventExceptionHandler;
 import net.minecraftforge.fml.common.eventhandler.IEventListener;
 import net.minecraftforge.fml.common.eventhandler.ListenerList;
-import net.minecraftforge.fml.common.gameevent.TickEvent;
-import net.minecraftforge.fml.relauncher.Side;
-import net.minecraftforge.oredict.OreDictionary;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.util.annotation.NonnullByDefault;
 import org.spongepowered.asm.mixin.Final;
@@ -60,28 +50,25 @@
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.TimingBridge;
-import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.event.RegisteredListener;
 import org.spongepowered.common.event.tracking.PhaseContext;
-import org.spongepowered.common.event.tracking.PhaseTracker;
-import org.spongepowered.common.event.tracking.phase.plugin.PluginPhase;
-import org.spongepowered.mod.SpongeModPlatform;
 import org.spongepowered.mod.bridge.event.ASMEventHandlerBridge;
 import org.spongepowered.mod.bridge.event.EventBusBridge_Forge;
+import org.spongepowered.mod.event.ForgeEventDispatchPlan;
 import org.spongepowered.mod.event.ForgeToSpongeEventData;
-import org.spongepowered.mod.event.ForgeToSpongeEventFactory;
+import org.spongepowered.mod.event.ListenerCircuitBreaker;
+import org.spongepowered.mod.event.ListenerLatencyRecorder;
 import org.spongepowered.mod.event.SpongeModEventManager;
 import org.spongepowered.mod.event.SpongeToForgeEventData;
+import org.spongepowered.mod.event.SpongeToForgeEventMapping;
 
 import java.lang.reflect.Method;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
-
-import javax.annotation.Nullable;
+import java.util.TreeSet;
 
 @SuppressWarnings("UnstableApiUsage")
 @NonnullByDefault
@@ -90,110 +77,12 @@ public abstract class EventBusMixin_Forge implements EventBusBridge_Forge {
 
     // Because Forge can't be bothered to keep track of this information itself
     private static final Map<IEventListener, Class<? extends Event>> forgeImpl$forgeListenerRegistry = new Reference2ReferenceOpenHashMap<>();
-    private static final Set<Class<? extends Event>> forgeImpl$forgeListenerEventClasses = new ReferenceOpenHashSet<>();
+    // Number of registered listeners per event class
+    private static final Reference2IntMap<Class<? extends Event>> forgeImpl$forgeListenerClassCounts = new Reference2IntOpenHashMap<>();
 
     @Shadow @Final private int busID;
     @Shadow private IEventExceptionHandler exceptionHandler;
 
-    @Nullable
-    private PhaseContext<?> forgeImpl$preEventPhaseCheck(final ASMEventHandlerBridge listener, final Event event) {
-        if (forgeImpl$isIgnoredEvent(event)) {
-            return null;
-        }
-        if (!SpongeImplHooks.isMainThread()) {
-            // We don't want to throw phases async, nor on the client before sponge is initialized, since main thread is technically
-            // allowed before the server has started.
-            return null;
-        }
-        if (event instanceof TickEvent.WorldTickEvent) {
-            final TickEvent.WorldTickEvent worldTickEvent = (TickEvent.WorldTickEvent) event;
-            final World world = worldTickEvent.world;
-            if (world == null || ((WorldBridge) world).bridge$isFake()) {
-                return null;
-            }
-            if (worldTickEvent.phase == TickEvent.Phase.START) {
-                return PluginPhase.Listener.PRE_WORLD_TICK_LISTENER
-                    .createPhaseContext()
-                    .source(listener.forgeBridge$getContainer())
-                    .world(world)
-                    .event(event);
-            } else if (worldTickEvent.phase == TickEvent.Phase.END) {
-                return PluginPhase.Listener.POST_WORLD_TICK_LISTENER
-                    .createPhaseContext()
-                    .source(listener.forgeBridge$getContainer())
-                    .world(world)
-                    .event(event);
-            }
-        }
-        // Basically some forge mods also listen to the server tick event and perform world changes as well...........
-        if (event instanceof TickEvent.ServerTickEvent) {
-            final TickEvent.ServerTickEvent serverTickEvent = (TickEvent.ServerTickEvent) event;
-            if (serverTickEvent.phase == TickEvent.Phase.START) {
-                // Need to prepare all worlds many mods do this
-                return PluginPhase.Listener.PRE_SERVER_TICK_LISTENER.createPhaseContext()
-                        .source(listener.forgeBridge$getContainer())
-                        .event(event);
-            } else if (serverTickEvent.phase == TickEvent.Phase.END) {
-                // Need to prepare all worlds many mods do this
-                return PluginPhase.Listener.POST_SERVER_TICK_LISTENER.createPhaseContext()
-                    .source(listener.forgeBridge$getContainer())
-                    .event(event);
-
-            }
-        }
-        if (listener.forgeBridge$getContainer() != null && PhaseTracker.getInstance().getCurrentState().allowsEventListener()) {
-            return PluginPhase.Listener.GENERAL_LISTENER.createPhaseContext()
-                .event(event)
-                .source(listener.forgeBridge$getContainer());
-        }
-        return null;
-    }
-
-    // Events that should not be posted on the event bus
-    private boolean forgeImpl$isEventAllowed(final Event event) {
-        if (event instanceof LivingDropsEvent) {
-            return false;
-        } else if (event instanceof WorldEvent.Save) {
-            return false;
-        } else if (event instanceof WorldEvent.Unload) {
-            return false;
-        }
-
-        return true;
-    }
-
-    private boolean forgeImpl$isClientPlatform() {
-        // This can be called before Sponge is initialied, so use this hack
-        return SpongeModPlatform.staticGetExecutionType().isClient();
-    }
-
-    private boolean forgeImpl$isIgnoredEvent(final Event event) {
-        if (event instanceof TickEvent && ((TickEvent) event).side == Side.CLIENT) {
-            return true;
-        }
-        if (event instanceof EntityEvent.CanUpdate) {
-            return true;
-        }
-        if (event instanceof GetCollisionBoxesEvent) {
-            return true;
-        }
-        if (event instanceof AttachCapabilitiesEvent) {
-            return true;
-        }
-        if (event instanceof OreDictionary.OreRegisterEvent) {
-            return true;
-        }
-        if (event instanceof FluidRegistry.FluidRegisterEvent) {
-            return true;
-        }
-
-        return SpongeImplHooks.isEventClientEvent(event);
-    }
-
-    private boolean forgeImpl$isTimedEvent(final Event event) {
-        return !(event instanceof AttachCapabilitiesEvent);
-    }
-
     /**
      * @author unknown
      * @reason Use added boolean flag to direct whether the event is forced or not, since we sync sponge to forge events quite often.
@@ -215,36 +104,53 @@ public boolean post(final Event event) {
 
     @Override
     public boolean forgeBridge$post(final Event event, final boolean forced) {
-        Class<? extends org.spongepowered.api.event.Event> spongeEventClass = null;
-
         final IEventListener[] listeners = event.getListenerList().getListeners(this.busID);
-        if (!forced && SpongeImpl.isInitialized() && SpongeImplHooks.isMainThread() && !forgeImpl$isIgnoredEvent(event)) {
-            if (!forgeImpl$isEventAllowed(event)) {
+        final boolean initialized = SpongeImpl.isInitialized();
+        // Plans can only be resolved once Sponge is initialized
+        final ForgeEventDispatchPlan plan = initialized ? ForgeEventDispatchPlan.of(event) : null;
+        // We don't want to throw phases async, nor on the client before sponge is initialized, since main thread is technically
+        // allowed before the server has started.
+        final boolean tracked = initialized && SpongeImplHooks.isMainThread() && !plan.isIgnored(event);
+        if (!forced && tracked) {
+            if (!plan.isAllowed()) {
                 return false;
             }
 
-            spongeEventClass = ForgeToSpongeEventFactory.getSpongeClass(event);
+            final Class<? extends org.spongepowered.api.event.Event> spongeEventClass = plan.getSpongeClass(event);
             if (spongeEventClass != null) {
                 final RegisteredListener.Cache listenerCache = ((SpongeModEventManager) Sponge.getEventManager()).getHandlerCache(spongeEventClass);
                 if (!listenerCache.getListeners().isEmpty()) {
-                    final ForgeToSpongeEventData forgeEventData = new ForgeToSpongeEventData(event, listeners);
-                    forgeEventData.setSpongeListenerCache(listenerCache);
-                    return ((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).post(forgeEventData);
+                    // Same as SpongeModEventManager.shouldUseCauseStackManager(false), tracked posts already know Sponge is initialized
+                    final boolean useCauseStackManager = Sponge.isServerAvailable() && Sponge.getServer().isMainThread();
+                    final ForgeToSpongeEventData forgeEventData = ForgeToSpongeEventData.acquire(event, listeners, useCauseStackManager);
+                    try {
+                        forgeEventData.setSpongeListenerCache(listenerCache);
+                        return ((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).post(forgeEventData);
+                    } finally {
+                        forgeEventData.release();
+                    }
                 }
             }
         }
 
+        final boolean timed = initialized && plan.isTimed();
+        final boolean recordLatency = initialized && ListenerLatencyRecorder.isEnabled() && SpongeImplHooks.isMainThread();
         int index = 0;
         try {
             for (; index < listeners.length; index++) {
                 final IEventListener listener = listeners[index];
-                if (SpongeImpl.isInitialized() && listener instanceof ASMEventHandlerBridge) {
+                if (ListenerCircuitBreaker.isQuarantined(listener)) {
+                    continue;
+                }
+                if (initialized && listener instanceof ASMEventHandlerBridge) {
                     // Set up the timing object, since it's a try with resources, it'll always close
                     // Likewise, the PhaseContext for GeneralListener will be enabled
                     // Note: As per JLS 14.20.3, the resources are closed in the opposite order in which they are initialized
                     // in which case the PhaseContext will unwind and close out before Timings closes out the listener.
-                    try (final Timing timing = forgeImpl$isTimedEvent(event) ? ((TimingBridge) listener).bridge$getTimingsHandler() : null;
-                         final PhaseContext<?> context = forgeImpl$preEventPhaseCheck((ASMEventHandlerBridge) listener, event)) {
+                    try (final Timing timing = timed ? ((TimingBridge) listener).bridge$getTimingsHandler() : null;
+                         final PhaseContext<?> context = tracked
+                             ? plan.createListenerPhase(((ASMEventHandlerBridge) listener).forgeBridge$getContainer(), event)
+                             : null) {
                         // However, we don't want to add to the timing of the event listener for whatever costs may be involved with the PhaseTracker
                         // switching phases.
                         if (context != null) {
@@ -253,13 +159,28 @@ public boolean post(final Event event) {
                         if (timing != null) {
                             timing.startTimingIfSync();
                         }
-                        listener.invoke(event);
+                        if (recordLatency) {
+                            final long start = System.nanoTime();
+                            try {
+                                listener.invoke(event);
+                            } finally {
+                                ListenerLatencyRecorder.record(((ASMEventHandlerBridge) listener).forgeBridge$getContainer(), event.getClass(),
+                                    System.nanoTime() - start);
+                            }
+                        } else {
+                            listener.invoke(event);
+                        }
                     }
                 } else {
                     listener.invoke(event);
                 }
             }
         } catch (Throwable throwable) {
+            final IEventListener listener = listeners[index];
+            final String ownerId = ListenerCircuitBreaker.getOwnerId(listener instanceof ASMEventHandlerBridge
+                ? ((ASMEventHandlerBridge) listener).forgeBridge$getContainer()
+                : null);
+            ListenerCircuitBreaker.recordFailure(listener, ownerId, event.getClass(), throwable);
             this.exceptionHandler.handleException((EventBus) (Object) this, event, listeners, index, throwable);
             Throwables.throwIfUnchecked(throwable);
             throw new RuntimeException(throwable);
@@ -277,50 +198,56 @@ public boolean post(final Event event) {
         final Class<? extends Event> eventType, final Object target, final Method method, final ModContainer owner) {
         list.register(id, priority, listener);
 
-        final SpongeModEventManager manager = ((SpongeModEventManager) SpongeImpl.getGame().getEventManager());
-
-        for (final Class clazz : TypeToken.of(eventType).getTypes().rawTypes()) {
-            final Collection<Class<? extends org.spongepowered.api.event.Event>> spongeEvents = manager.forgeToSpongeEventMapping.get(clazz);
-            if (spongeEvents != null) {
-                for (final Class<? extends org.spongepowered.api.event.Event> event : spongeEvents) {
-                    manager.checker.registerListenerFor(event);
-                }
+        forgeImpl$forgeListenerRegistry.put(listener, eventType);
+        // Only the first listener for an event class affects the ShouldFire flags
+        if (forgeImpl$forgeListenerClassCounts.addTo(eventType, 1) == 0) {
+            final SpongeModEventManager manager = ((SpongeModEventManager) SpongeImpl.getGame().getEventManager());
+            for (final Class<? extends org.spongepowered.api.event.Event> event : manager.getShouldFireEventClasses(eventType)) {
+                manager.checker.registerListenerFor(event);
             }
+            SpongeToForgeEventMapping.invalidateListeners();
         }
-
-        forgeImpl$forgeListenerRegistry.put(listener, eventType);
-        forgeImpl$forgeListenerEventClasses.add(eventType);
     }
 
-    @SuppressWarnings({ "rawtypes", "unchecked" })
-	@Redirect(method = "unregister",
+    @Redirect(method = "unregister",
         at = @At(value = "INVOKE",
             target = "Lnet/minecraftforge/fml/common/eventhandler/ListenerList;unregisterAll(ILnet/minecraftforge/fml/common/eventhandler/IEventListener;)V",
             remap = false))
     private void forgeImpl$updateListenerRegistry(final int id, final IEventListener listener) {
         ListenerList.unregisterAll(id, listener);
 
-        final SpongeModEventManager manager = ((SpongeModEventManager) SpongeImpl.getGame().getEventManager());
-
         final Class<? extends Event> type = checkNotNull(forgeImpl$forgeListenerRegistry.remove(listener));
-        for (final Class clazz: TypeToken.of(type).getTypes().rawTypes()) {
-            final Collection<Class<? extends org.spongepowered.api.event.Event>> spongeEvents = manager.forgeToSpongeEventMapping.get(clazz);
-            if (spongeEvents != null) {
-                for (final Class<? extends org.spongepowered.api.event.Event> event : spongeEvents) {
-                    manager.checker.unregisterListenerFor(event);
-                }
-            }
+        final int count = forgeImpl$forgeListenerClassCounts.getInt(type);
+        if (count > 1) {
+            forgeImpl$forgeListenerClassCounts.put(type, count - 1);
+            return;
         }
-
-        // update event class cache
-        if (!forgeImpl$forgeListenerRegistry.containsValue(type)) {
-            forgeImpl$forgeListenerEventClasses.remove(type);
+        // The last listener for the event class is gone
+        forgeImpl$forgeListenerClassCounts.removeInt(type);
+        final SpongeModEventManager manager = ((SpongeModEventManager) SpongeImpl.getGame().getEventManager());
+        for (final Class<? extends org.spongepowered.api.event.Event> event : manager.getShouldFireEventClasses(type)) {
+            manager.checker.unregisterListenerFor(event);
         }
+        SpongeToForgeEventMapping.invalidateListeners();
     }
 
     @Override
     public Set<Class<? extends Event>> forgeBridge$getEventListenerClassList() {
-        return forgeImpl$forgeListenerEventClasses;
+        return forgeImpl$forgeListenerClassCounts.keySet();
+    }
+
+    @Override
+    public Set<String> forgeBridge$getEventListenerOwners(final Class<? extends Event> eventClass) {
+        final Set<String> owners = new TreeSet<>();
+        for (final Map.Entry<IEventListener, Class<? extends Event>> entry : forgeImpl$forgeListenerRegistry.entrySet()) {
+            if (entry.getValue() == eventClass) {
+                final IEventListener listener = entry.getKey();
+                owners.add(ListenerCircuitBreaker.getOwnerId(listener instanceof ASMEventHandlerBridge
+                    ? ((ASMEventHandlerBridge) listener).forgeBridge$getContainer()
+                    : null));
+            }
+        }
+        return owners;
     }
 
     @Override
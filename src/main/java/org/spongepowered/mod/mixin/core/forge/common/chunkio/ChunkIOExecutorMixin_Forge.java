@@ -29,18 +29,27 @@
 import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraftforge.common.chunkio.ChunkIOExecutor;
-import org.spongepowered.api.world.Chunk;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
-import org.spongepowered.asm.mixin.injection.Inject;
-import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.common.util.SpongeHooks;
+import org.spongepowered.mod.world.chunkio.ChunkIOPriorityQueue;
+
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Mixin(value = ChunkIOExecutor.class, remap = false)
 public class ChunkIOExecutorMixin_Forge {
 
-    @Inject(method = "queueChunkLoad", at = @At(value = "INVOKE", target = "Ljava/util/concurrent/ThreadPoolExecutor;execute(Ljava/lang/Runnable;)V"))
-    private static void forgeImpl$logQueueLoading(World world, AnvilChunkLoader loader, ChunkProviderServer provider, int x, int z, Runnable runnable, final CallbackInfo ci) {
+    @Redirect(method = "queueChunkLoad", at = @At(value = "INVOKE", target = "Ljava/util/concurrent/ThreadPoolExecutor;execute(Ljava/lang/Runnable;)V"))
+    private static void forgeImpl$queuePrioritizedLoad(final ThreadPoolExecutor pool, final Runnable task, final World world,
+        final AnvilChunkLoader loader, final ChunkProviderServer provider, final int x, final int z, final Runnable runnable) {
         SpongeHooks.logChunkQueueLoad(world, Vector3i.from(x, 0, z));
+        ChunkIOPriorityQueue.execute(pool, task, world, x, z);
+    }
+
+    @Redirect(method = {"syncChunkLoad", "dropQueuedChunkLoad"},
+        at = @At(value = "INVOKE", target = "Ljava/util/concurrent/ThreadPoolExecutor;remove(Ljava/lang/Runnable;)Z"))
+    private static boolean forgeImpl$removePrioritizedLoad(final ThreadPoolExecutor pool, final Runnable task) {
+        return ChunkIOPriorityQueue.remove(task);
     }
 }
@@ -44,8 +44,14 @@
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge_AsyncLighting;
 import org.spongepowered.common.world.WorldManager;
+import org.spongepowered.mod.world.chunkio.AsyncChunkWriter;
+import org.spongepowered.mod.world.chunkio.ChunkUnloadBudget;
+import org.spongepowered.mod.world.chunkio.ParallelWorldFlusher;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -83,8 +89,10 @@ public abstract class MinecraftServerMixin_Forge implements MinecraftServerBridg
     private void forgeImpl$UpdateChunkGC(final CallbackInfo ci, final Integer[] ids, final int x, final int id, final long i,
         final WorldServer worldServer) {
         final WorldServerBridge spongeWorld = (WorldServerBridge) worldServer;
-        if (spongeWorld.bridge$getChunkGCTickInterval() > 0) {
+        if (spongeWorld.bridge$getChunkGCTickInterval() > 0 && ChunkUnloadBudget.canCollectGarbage(worldServer)) {
+            final long start = System.nanoTime();
             spongeWorld.bridge$doChunkGC();
+            ChunkUnloadBudget.charge(System.nanoTime() - start);
         }
     }
 
@@ -151,28 +159,51 @@ public void stopServer()
             }
 
             server.saveAllWorlds(false);
+            // Sponge - Chunks saved asynchronously have to reach the file IO thread before the worlds are unloaded
+            if (AsyncChunkWriter.hasPendingSaves()) {
+                LOGGER.info("Waiting for chunk saves to complete");
+                AsyncChunkWriter.awaitAllSaves();
+            }
+
+            // Turn off Async Lighting of all worlds at once, so they share the second they have to finish
+            final List<ExecutorService> lightingExecutors = new ArrayList<>();
+            for (final WorldServer worldserver : server.worlds)
+            {
+                if (worldserver instanceof WorldServerBridge_AsyncLighting) {
+                    final ExecutorService lightingExecutor = ((WorldServerBridge_AsyncLighting) worldserver).asyncLightingBridge$getLightingExecutor();
+                    lightingExecutor.shutdown();
+                    lightingExecutors.add(lightingExecutor);
+                }
+            }
+
+            // Write the chunks of the worlds in parallel rather than one after another on the file IO thread
+            final Map<WorldServer, Long> flushTimes = ParallelWorldFlusher.flush(server.worlds);
+
+            final long lightingDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            for (final ExecutorService lightingExecutor : lightingExecutors) {
+                try {
+                    lightingExecutor.awaitTermination(Math.max(0, lightingDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    e.printStackTrace();
+                } finally {
+                    lightingExecutor.shutdownNow();
+                }
+            }
 
             for (final WorldServer worldserver1 : server.worlds)
             {
                 if (worldserver1 != null)
                 {
-                    // Turn off Async Lighting
-                    if (worldserver1 instanceof WorldServerBridge_AsyncLighting) {
-                        final ExecutorService lightingExecutor = ((WorldServerBridge_AsyncLighting) worldserver1).asyncLightingBridge$getLightingExecutor();
-                        lightingExecutor.shutdown();
-                        try {
-                            lightingExecutor.awaitTermination(1, TimeUnit.SECONDS);
-                        } catch (InterruptedException e) {
-                            e.printStackTrace();
-                        } finally {
-                            lightingExecutor.shutdownNow();
-                        }
-                    }
-
+                    final long unloadStart = System.nanoTime();
                     // Direct to WorldManager for unload
                     WorldManager.unloadWorld(worldserver1, false, true);
-                    // Sponge End
                     worldserver1.flush();
+                    final Long flushTime = flushTimes.get(worldserver1);
+                    LOGGER.info("Stopped dimension {} ({}): chunks written in {} ms, unloaded in {} ms",
+                        worldserver1.provider.getDimension(), worldserver1.getWorldInfo().getWorldName(),
+                        flushTime == null ? 0 : TimeUnit.NANOSECONDS.toMillis(flushTime),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - unloadStart));
+                    // Sponge End
                 }
             }
         }
@@ -26,16 +26,21 @@
 
 import net.minecraft.server.management.PlayerChunkMap;
 import net.minecraft.server.management.PlayerChunkMapEntry;
+import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.gen.ChunkProviderServer;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
 import org.spongepowered.mod.bridge.server.management.PlayerChunkMapEntryBridge_Forge;
 import org.spongepowered.mod.entity.PlayerChunkRunnable;
+import org.spongepowered.mod.world.chunkio.ChunkPrefetcher;
+import org.spongepowered.mod.world.gen.SpongeChunkGeneratorForge;
 
 @Mixin(value = PlayerChunkMapEntry.class, priority = 1001)
 public class PlayerChunkMapEntryMixin_Forge implements PlayerChunkMapEntryBridge_Forge {
@@ -54,10 +59,23 @@ public class PlayerChunkMapEntryMixin_Forge implements PlayerChunkMapEntryBridge
         this.loading = true;
         this.loadedRunnable = new PlayerChunkRunnable(this.playerChunkMap, (PlayerChunkMapEntry) (Object) this);
         this.chunk = this.playerChunkMap.getWorldServer().getChunkProvider().loadChunk(chunkX, chunkZ, this.loadedRunnable);
+        ChunkPrefetcher.onPlayerChunkRequested(this.playerChunkMap.getWorldServer(), chunkX, chunkZ, this.chunk != null);
+        if (this.chunk == null) {
+            this.forgeImpl$prepareTerrain(this.playerChunkMap.getWorldServer(), chunkX, chunkZ);
+        }
         this.forgeImpl$markChunkUsed();
         return this.chunk;
     }
 
+    // Chunks that still have to be generated are generated once the player chunk map gets to them, start on their terrain now
+    private void forgeImpl$prepareTerrain(final WorldServer world, final int chunkX, final int chunkZ) {
+        final ChunkProviderServer chunkProvider = world.getChunkProvider();
+        if (chunkProvider.chunkLoader instanceof AnvilChunkLoader && !((AnvilChunkLoader) chunkProvider.chunkLoader).isChunkGeneratedAt(chunkX, chunkZ)
+                && ((WorldServerBridge) world).bridge$getSpongeGenerator() instanceof SpongeChunkGeneratorForge) {
+            ((SpongeChunkGeneratorForge) ((WorldServerBridge) world).bridge$getSpongeGenerator()).preparePrimer(chunkX, chunkZ);
+        }
+    }
+
     // delay chunk unloads
     private void forgeImpl$markChunkUsed() {
         if (this.chunk == null) {
@@ -24,20 +24,27 @@
  */
 package org.spongepowered.mod.mixin.core.world;
 
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.ImmutableSetMultimap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.player.EntityPlayer;
 import net.minecraft.profiler.Profiler;
-import net.minecraft.util.EnumFacing;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.EnumSkyBlock;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldProvider;
 import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.IChunkProvider;
 import net.minecraft.world.storage.ISaveHandler;
 import net.minecraft.world.storage.MapStorage;
 import net.minecraft.world.storage.WorldInfo;
 import net.minecraftforge.common.DimensionManager;
+import net.minecraftforge.common.ForgeChunkManager;
+import org.spongepowered.api.world.ChunkTicketManager;
 import org.spongepowered.asm.mixin.Dynamic;
 import org.spongepowered.asm.mixin.Final;
 import org.spongepowered.asm.mixin.Mixin;
@@ -55,6 +62,7 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.mod.bridge.world.WorldBridge_Forge;
 import org.spongepowered.mod.event.CapturedSnapshotWrapperList;
+import org.spongepowered.mod.world.NeighborLight;
 
 import javax.annotation.Nullable;
 
@@ -63,11 +71,16 @@
 public abstract class WorldMixin_Forge implements WorldBridge_Forge {
 
     private WorldInfo forgeImpl$redirectWorldInfo;
+    // Number of tickets forcing each chunk, kept up to date by SpongeMod's chunk ticket listeners
+    private final Long2IntMap forgeImpl$persistentChunkTickets = new Long2IntOpenHashMap();
+    @Nullable private ImmutableSetMultimap<ChunkPos, ForgeChunkManager.Ticket> forgeImpl$forcedChunksSource;
+    @Nullable private ImmutableSetMultimap<Vector3i, ChunkTicketManager.LoadingTicket> forgeImpl$forcedChunksView;
 
     @Shadow(remap = false) public java.util.ArrayList<net.minecraftforge.common.util.BlockSnapshot> capturedBlockSnapshots;
     @Shadow @Final public WorldProvider provider;
     @Shadow @Final public boolean isRemote;
     @Shadow protected MapStorage mapStorage;
+    @Shadow protected IChunkProvider chunkProvider;
     @Shadow public abstract boolean canSeeSky(BlockPos pos);
     @Shadow public abstract IBlockState getBlockState(BlockPos pos);
     @Shadow public abstract int getLightFor(EnumSkyBlock type, BlockPos pos);
@@ -111,20 +124,9 @@ private int getRawLight(final BlockPos pos, final EnumSkyBlock lightType) {
             } else if (i >= 14) {
                 return i;
             } else {
-                for (final EnumFacing enumfacing : EnumFacing.values()) {
-                    final BlockPos blockpos = pos.offset(enumfacing);
-                    final int k = this.getLightFor(lightType, blockpos) - j;
-
-                    if (k > i) {
-                        i = k;
-                    }
-
-                    if (i >= 14) {
-                        return i;
-                    }
-                }
-
-                return i;
+                // Sponge Start - Read the light of the neighbors from their chunk sections instead of going through the world
+                return NeighborLight.getMax(this.chunkProvider, this.provider.hasSkyLight(), lightType, pos.getX(), pos.getY(), pos.getZ(), i, j);
+                // Sponge End
             }
         }
     }
@@ -183,6 +185,41 @@ private int getRawLight(final BlockPos pos, final EnumSkyBlock lightType) {
         this.forgeImpl$redirectWorldInfo = info;
     }
 
+    @Override
+    public boolean forgeBridge$isPersistentChunk(final long chunkPos) {
+        return this.forgeImpl$persistentChunkTickets.containsKey(chunkPos);
+    }
+
+    @Override
+    public boolean forgeBridge$addPersistentChunkTicket(final long chunkPos) {
+        return this.forgeImpl$persistentChunkTickets.addTo(chunkPos, 1) == 0;
+    }
+
+    @Override
+    public boolean forgeBridge$removePersistentChunkTicket(final long chunkPos) {
+        final int tickets = this.forgeImpl$persistentChunkTickets.get(chunkPos);
+        if (tickets > 1) {
+            this.forgeImpl$persistentChunkTickets.put(chunkPos, tickets - 1);
+            return false;
+        }
+        this.forgeImpl$persistentChunkTickets.remove(chunkPos);
+        return true;
+    }
+
+    @Nullable
+    @Override
+    public ImmutableSetMultimap<Vector3i, ChunkTicketManager.LoadingTicket> forgeBridge$getForcedChunksView(
+        final ImmutableSetMultimap<ChunkPos, ForgeChunkManager.Ticket> forgeForcedChunks) {
+        return this.forgeImpl$forcedChunksSource == forgeForcedChunks ? this.forgeImpl$forcedChunksView : null;
+    }
+
+    @Override
+    public void forgeBridge$setForcedChunksView(final ImmutableSetMultimap<ChunkPos, ForgeChunkManager.Ticket> forgeForcedChunks,
+        final ImmutableSetMultimap<Vector3i, ChunkTicketManager.LoadingTicket> spongeForcedChunks) {
+        this.forgeImpl$forcedChunksSource = forgeForcedChunks;
+        this.forgeImpl$forcedChunksView = spongeForcedChunks;
+    }
+
     @Inject(method = "<init>", at = @At("RETURN"))
     private void onIniitToSetForgeList(final ISaveHandler saveHandlerIn, final WorldInfo info, final WorldProvider providerIn,
         final Profiler profilerIn, final boolean client, final CallbackInfo ci) {
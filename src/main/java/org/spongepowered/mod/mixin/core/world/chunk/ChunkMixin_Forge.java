@@ -44,6 +44,8 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.world.chunk.ChunkBridge;
+import org.spongepowered.mod.bridge.world.WorldBridge_Forge;
+import org.spongepowered.mod.world.chunkio.DormantChunkCache;
 
 @Mixin(value = Chunk.class, priority = 1001)
 public abstract class ChunkMixin_Forge implements ChunkBridge {
@@ -76,20 +78,16 @@ public abstract class ChunkMixin_Forge implements ChunkBridge {
     @Inject(method = "onLoad", at = @At("RETURN"))
     private void forgeImpl$updatePersistingChunks(final CallbackInfo ci) {
         if (!this.world.isRemote) {
-            for (final ChunkPos forced : this.world.getPersistentChunks().keySet()) {
-                if (forced.x == this.x && forced.z == this.z) {
-                    this.bridge$setPersistedChunk(true);
-                    return;
-                }
-            }
-            this.bridge$setPersistedChunk(false);
+            this.bridge$setPersistedChunk(((WorldBridge_Forge) this.world).forgeBridge$isPersistentChunk(ChunkPos.asLong(this.x, this.z)));
         }
     }
 
     @Inject(method = "onUnload", at = @At("RETURN"))
     private void forgeImpl$UpdateDormantChunks(final CallbackInfo ci) {
-        // Moved from ChunkProviderServer
-        net.minecraftforge.common.ForgeChunkManager.putDormantChunk(ChunkPos.asLong(this.x, this.z), (Chunk) (Object) this);
+        // Moved from ChunkProviderServer, Sponge caches the data of unloaded chunks instead
+        if (!DormantChunkCache.isEnabled()) {
+            net.minecraftforge.common.ForgeChunkManager.putDormantChunk(ChunkPos.asLong(this.x, this.z), (Chunk) (Object) this);
+        }
     }
 
 
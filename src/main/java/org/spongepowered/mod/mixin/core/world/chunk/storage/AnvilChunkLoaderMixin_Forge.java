@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.world.chunk.storage;
+
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.mod.world.chunkio.AsyncChunkWriter;
+import org.spongepowered.mod.world.chunkio.ChunkSavePipeline;
+import org.spongepowered.mod.world.chunkio.DormantChunkCache;
+import org.spongepowered.mod.world.chunkio.MappedRegionReader;
+
+import java.io.DataInputStream;
+import java.io.File;
+
+@Mixin(AnvilChunkLoader.class)
+public abstract class AnvilChunkLoaderMixin_Forge {
+
+    @Shadow @Final public File chunkSaveLocation;
+
+    @Shadow protected abstract void addChunkToPending(ChunkPos pos, NBTTagCompound compound);
+
+    // Unloaded chunks which are still being serialized by the writer are neither in the pending chunks nor on disk yet
+
+    @Inject(method = "loadChunk__Async", at = @At("HEAD"), remap = false)
+    private void forgeImpl$awaitUnloadSave(final World world, final int x, final int z, final CallbackInfoReturnable<Object[]> cir) {
+        AsyncChunkWriter.awaitSave((AnvilChunkLoader) (Object) this, x, z);
+    }
+
+    @Inject(method = "isChunkGeneratedAt", at = @At("HEAD"))
+    private void forgeImpl$awaitUnloadSave(final int x, final int z, final CallbackInfoReturnable<Boolean> cir) {
+        AsyncChunkWriter.awaitSave((AnvilChunkLoader) (Object) this, x, z);
+    }
+
+    @Inject(method = "flush", at = @At("HEAD"))
+    private void forgeImpl$awaitUnloadSaves(final CallbackInfo ci) {
+        AsyncChunkWriter.awaitSaves((AnvilChunkLoader) (Object) this);
+    }
+
+    @Redirect(method = "loadChunk__Async", remap = false,
+        at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/RegionFileCache;getChunkInputStream(Ljava/io/File;II)Ljava/io/DataInputStream;",
+            remap = true))
+    private DataInputStream forgeImpl$readDormantChunk(final File directory, final int x, final int z) {
+        final DataInputStream cached = DormantChunkCache.fetch(directory, x, z);
+        return cached != null ? cached : MappedRegionReader.getChunkInputStream(directory, x, z);
+    }
+
+    @Inject(method = "writeChunkData", at = @At("HEAD"))
+    private void forgeImpl$cacheDormantChunk(final ChunkPos pos, final NBTTagCompound compound, final CallbackInfo ci) {
+        DormantChunkCache.onChunkWritten(this.chunkSaveLocation, pos, compound);
+    }
+
+    @Inject(method = "saveChunk", at = @At("HEAD"))
+    private void forgeImpl$beginChunkSave(final World world, final Chunk chunk, final CallbackInfo ci) {
+        ChunkSavePipeline.begin((AnvilChunkLoader) (Object) this, chunk.x, chunk.z);
+    }
+
+    @Inject(method = "saveChunk", at = @At("RETURN"))
+    private void forgeImpl$endChunkSave(final World world, final Chunk chunk, final CallbackInfo ci) {
+        ChunkSavePipeline.end();
+    }
+
+    @Redirect(method = "writeChunkToNBT",
+        at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/BlockStateContainer;getDataForNBT([BLnet/minecraft/world/chunk/NibbleArray;)Lnet/minecraft/world/chunk/NibbleArray;"))
+    private NibbleArray forgeImpl$snapshotSection(final BlockStateContainer container, final byte[] blockIds, final NibbleArray data) {
+        return ChunkSavePipeline.getDataForNBT(container, blockIds, data);
+    }
+
+    @Redirect(method = "writeChunkToNBT",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/nbt/NBTTagCompound;setByteArray(Ljava/lang/String;[B)V"))
+    private void forgeImpl$linkSection(final NBTTagCompound compound, final String key, final byte[] value) {
+        ChunkSavePipeline.setByteArray(compound, key, value);
+    }
+
+    @Redirect(method = "saveChunk",
+        at = @At(value = "INVOKE",
+            target = "Lnet/minecraft/world/chunk/storage/AnvilChunkLoader;addChunkToPending(Lnet/minecraft/util/math/ChunkPos;Lnet/minecraft/nbt/NBTTagCompound;)V"))
+    private void forgeImpl$encodeSectionsAsync(final AnvilChunkLoader loader, final ChunkPos pos, final NBTTagCompound compound) {
+        ChunkSavePipeline.addChunkToPending(loader, pos, () -> this.addChunkToPending(pos, compound));
+    }
+}
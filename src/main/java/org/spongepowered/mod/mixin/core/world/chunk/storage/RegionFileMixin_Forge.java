@@ -0,0 +1,121 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.world.chunk.storage;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.mod.bridge.world.RegionFileBridge_Forge;
+import org.spongepowered.mod.world.chunkio.MappedRegionReader;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import javax.annotation.Nullable;
+
+@Mixin(RegionFile.class)
+public abstract class RegionFileMixin_Forge implements RegionFileBridge_Forge {
+
+    @Shadow @Final private File fileName;
+    @Shadow private List<Boolean> sectorFree;
+
+    @Shadow protected abstract boolean outOfBounds(int x, int z);
+    @Shadow protected abstract int getOffset(int x, int z);
+    @Shadow @Nullable public abstract DataInputStream getChunkDataInputStream(int x, int z);
+
+    // The file only grows, it is mapped again once a chunk lies beyond the mapping
+    @Nullable private MappedByteBuffer forgeImpl$mappedData;
+
+    /**
+     * Mirrors {@link RegionFile#getChunkDataInputStream(int, int)}, but
+     * copies the compressed data out of the mapping instead of seeking and
+     * reading the file. Synchronized on the region file like its other
+     * methods, as chunks are rewritten in place.
+     */
+    @Nullable
+    @Override
+    public synchronized DataInputStream forgeBridge$getMappedChunkDataInputStream(final int x, final int z) throws IOException {
+        if (this.outOfBounds(x, z)) {
+            return null;
+        }
+        final int offset = this.getOffset(x, z);
+        if (offset == 0) {
+            return null;
+        }
+        final int sector = offset >> 8;
+        final int sectorCount = offset & 255;
+        if (sector + sectorCount > this.sectorFree.size()) {
+            return null;
+        }
+        final long start = sector * 4096L;
+        final ByteBuffer data = this.forgeImpl$getMappedData(start + sectorCount * 4096L);
+        if (data == null) {
+            // The file is shorter than the chunk's sectors, let vanilla deal with it
+            return this.getChunkDataInputStream(x, z);
+        }
+        try {
+            return MappedRegionReader.readChunk(data, (int) start, sectorCount);
+        } catch (EOFException e) {
+            return this.getChunkDataInputStream(x, z);
+        }
+    }
+
+    /**
+     * Drops the mapping when the region file is closed, which is unmapped
+     * once it is collected instead of living as long as the region file.
+     */
+    @Inject(method = "close", at = @At("HEAD"))
+    private void forgeImpl$releaseMappedData(final CallbackInfo ci) {
+        synchronized (this) {
+            this.forgeImpl$mappedData = null;
+        }
+    }
+
+    @Nullable
+    private ByteBuffer forgeImpl$getMappedData(final long end) throws IOException {
+        if (this.forgeImpl$mappedData == null || this.forgeImpl$mappedData.capacity() < end) {
+            try (FileChannel channel = FileChannel.open(this.fileName.toPath(), StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (size < end || size > Integer.MAX_VALUE) {
+                    return null;
+                }
+                this.forgeImpl$mappedData = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        // Buffer positions aren't shared between readers
+        return this.forgeImpl$mappedData.duplicate();
+    }
+}
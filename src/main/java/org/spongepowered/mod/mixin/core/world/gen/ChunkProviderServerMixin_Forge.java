@@ -25,9 +25,12 @@
 package org.spongepowered.mod.mixin.core.world.gen;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.WorldServer;
 import net.minecraft.world.chunk.Chunk;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.chunk.storage.IChunkLoader;
 import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.IChunkGenerator;
 import org.spongepowered.asm.mixin.Final;
@@ -43,14 +46,54 @@
 import org.spongepowered.common.bridge.world.WorldBridge;
 import org.spongepowered.common.bridge.world.chunk.ChunkProviderServerBridge;
 import org.spongepowered.common.mixin.core.world.gen.ChunkProviderServerMixin;
+import org.spongepowered.mod.world.chunkio.AsyncChunkWriter;
+import org.spongepowered.mod.world.chunkio.ChunkUnloadBudget;
+import org.spongepowered.mod.world.chunkio.DormantChunkCache;
+import org.spongepowered.mod.world.gen.WorldPregenerator;
+
+import java.util.Iterator;
 
 @Mixin(value = ChunkProviderServer.class, priority = 1001)
 public abstract class ChunkProviderServerMixin_Forge implements ChunkProviderServerBridge {
 
     @Shadow @Final public WorldServer world;
     @Shadow @Final public Long2ObjectMap<Chunk> loadedChunks;
+    @Shadow @Final public IChunkLoader chunkLoader;
     @Shadow public abstract Chunk loadChunk(int x, int z);
     @Shadow protected abstract void saveChunkExtraData(Chunk chunkIn);
+    @Shadow protected abstract void saveChunkData(Chunk chunkIn);
+
+    @Inject(method = "tick", at = @At("HEAD"))
+    private void forgeImpl$tickPregeneration(final CallbackInfoReturnable<Boolean> cir) {
+        if (!((WorldBridge) this.world).bridge$isFake()) {
+            WorldPregenerator.tick(this.world);
+        }
+    }
+
+    @Redirect(method = "tick", at = @At(value = "INVOKE", target = "Ljava/util/Iterator;hasNext()Z", remap = false))
+    private boolean forgeImpl$checkUnloadBudget(final Iterator<?> iterator) {
+        return ChunkUnloadBudget.canContinueUnloading(this.world.getMinecraftServer()) && iterator.hasNext();
+    }
+
+    @Redirect(method = "tick",
+        at = @At(value = "INVOKE", target = "Lnet/minecraft/world/gen/ChunkProviderServer;saveChunkData(Lnet/minecraft/world/chunk/Chunk;)V"))
+    private void forgeImpl$saveUnloadedChunk(final ChunkProviderServer chunkProvider, final Chunk chunk) {
+        ChunkUnloadBudget.onChunkUnloaded();
+        if (this.chunkLoader instanceof AnvilChunkLoader) {
+            DormantChunkCache.markUnloaded(((AnvilChunkLoader) this.chunkLoader).chunkSaveLocation, ChunkPos.asLong(chunk.x, chunk.z));
+        }
+        if (AsyncChunkWriter.isEnabled() && this.chunkLoader instanceof AnvilChunkLoader) {
+            chunk.setLastSaveTime(this.world.getTotalWorldTime());
+            AsyncChunkWriter.save(this.world, (AnvilChunkLoader) this.chunkLoader, chunk);
+        } else {
+            this.saveChunkData(chunk);
+        }
+    }
+
+    @Inject(method = "tick", at = @At("RETURN"))
+    private void forgeImpl$endUnloading(final CallbackInfoReturnable<Boolean> cir) {
+        ChunkUnloadBudget.endUnloading();
+    }
 
     @Inject(method = "tick", at = @At(value = "INVOKE", target = "Ljava/util/Iterator;remove()V", shift = Shift.AFTER, remap = false))
     private void forge$RemoveForgePersistingChunkCheck(CallbackInfoReturnable<Boolean> cir) {
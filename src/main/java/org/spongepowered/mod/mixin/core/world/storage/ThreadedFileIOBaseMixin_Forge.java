@@ -0,0 +1,60 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.core.world.storage;
+
+import net.minecraft.world.storage.IThreadedFileIO;
+import net.minecraft.world.storage.ThreadedFileIOBase;
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import java.util.List;
+
+@Mixin(ThreadedFileIOBase.class)
+public abstract class ThreadedFileIOBaseMixin_Forge {
+
+    @Shadow @Final private List<IThreadedFileIO> threadedIOQueue;
+    @Shadow private volatile long writeQueuedCounter;
+
+    /**
+     * Queues file IO atomically. Vanilla only queues from the server thread,
+     * but the chunk save workers queue the chunks they encoded, and a lost
+     * increment of the queued counter would make waitForFinish spin forever.
+     */
+    @Inject(method = "queueIO", at = @At("HEAD"), cancellable = true)
+    private void forgeImpl$queueIOAtomically(final IThreadedFileIO fileIo, final CallbackInfo ci) {
+        // The queue is a synchronized list, which the file IO thread locks as well
+        synchronized (this.threadedIOQueue) {
+            if (!this.threadedIOQueue.contains(fileIo)) {
+                ++this.writeQueuedCounter;
+                this.threadedIOQueue.add(fileIo);
+            }
+        }
+        ci.cancel();
+    }
+}
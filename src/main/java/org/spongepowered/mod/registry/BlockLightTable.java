@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.registry;
+
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.mod.bridge.block.BlockBridge_Forge;
+import org.spongepowered.mod.bridge.block.BlockStateBridge_Forge;
+
+/**
+ * Caches the light value and opacity of every block state on the state
+ * itself once the block registry is frozen, so lighting doesn't have to ask
+ * the block for them. States of blocks which override the location aware
+ * Forge methods keep asking the block.
+ */
+public final class BlockLightTable {
+
+    private BlockLightTable() {
+    }
+
+    @SuppressWarnings("deprecation")
+    public static void build() {
+        int cached = 0;
+        for (final Block block : Block.REGISTRY) {
+            final BlockBridge_Forge bridge = (BlockBridge_Forge) block;
+            for (final IBlockState state : block.getBlockState().getValidStates()) {
+                if (!(state instanceof BlockStateBridge_Forge)) {
+                    continue;
+                }
+                final int lightValue = bridge.forgeBridge$requiresLocationCheckForLightValue() ? -1 : state.getLightValue();
+                final int lightOpacity = bridge.forgeBridge$requiresLocationCheckForOpacity() ? -1 : state.getLightOpacity();
+                ((BlockStateBridge_Forge) state).forgeBridge$setLighting(lightValue, lightOpacity);
+                if (lightValue != -1 || lightOpacity != -1) {
+                    cached++;
+                }
+            }
+        }
+        SpongeImpl.getLogger().debug("Cached the light values of {} block states", cached);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.service.world;
+
+import com.flowpowered.math.vector.Vector3i;
+import org.spongepowered.api.world.ChunkTicketManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link ChunkTicketManager.LoadingTicket} that can force many chunks at
+ * once. All loading tickets created by SpongeForge implement this.
+ */
+public interface BulkLoadingTicket extends ChunkTicketManager.LoadingTicket {
+
+    /**
+     * Forces all the given chunks. The chunks are loaded through Forge's
+     * chunk IO executor first, so the server doesn't load them one by one
+     * while ticking. Chunks that were never generated still have to be
+     * generated on the main thread. Each chunk is forced as soon as it is
+     * loaded.
+     *
+     * <p>Must be called on the main thread.</p>
+     *
+     * @param chunks The positions of the chunks to force
+     * @return A future completed on the main thread once all chunks are
+     *     loaded and forced, or completed exceptionally if the world is
+     *     unloaded first
+     */
+    CompletableFuture<Void> forceChunks(Collection<Vector3i> chunks);
+
+}
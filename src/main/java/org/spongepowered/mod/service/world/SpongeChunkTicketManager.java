@@ -24,6 +24,8 @@
  */
 package org.spongepowered.mod.service.world;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
@@ -31,7 +33,10 @@
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.ImmutableSetMultimap;
 import com.google.common.collect.ListMultimap;
+import com.google.common.collect.MapMaker;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraftforge.common.ForgeChunkManager;
 import net.minecraftforge.common.ForgeChunkManager.Ticket;
 import org.spongepowered.api.data.DataContainer;
@@ -41,22 +46,30 @@
 import org.spongepowered.api.world.ChunkTicketManager;
 import org.spongepowered.api.world.World;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.data.persistence.NbtTranslator;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.mod.bridge.world.TicketBridge_Forge;
+import org.spongepowered.mod.bridge.world.WorldBridge_Forge;
 import org.spongepowered.mod.mixin.core.forge.common.ForgeChunkManager$TicketAccessor;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 import javax.annotation.Nullable;
 
 public class SpongeChunkTicketManager implements ChunkTicketManager {
 
+    // Bulk forces that are still waiting for chunks, only accessed on the main thread
+    private static final Map<WorldServer, Set<CompletableFuture<Void>>> pendingBulkForces = new MapMaker().weakKeys().makeMap();
+
     @Override
     public void registerCallback(final Object plugin, final Callback callback) {
         ForgeChunkManager.setForcedChunkLoadingCallback(plugin, new SpongeLoadingCallback(callback));
@@ -137,16 +150,60 @@ public int getAvailableTickets(final UUID player) {
     public ImmutableSetMultimap<Vector3i, LoadingTicket> getForcedChunks(final World world) {
         final ImmutableSetMultimap<ChunkPos, Ticket> forgeForcedChunks =
                 ForgeChunkManager.getPersistentChunksFor((net.minecraft.world.World) world);
+        // Forge replaces the forced chunks of a world whenever a chunk is forced or unforced,
+        // so the sponge view only has to be rebuilt when they were replaced
+        final ImmutableSetMultimap<Vector3i, LoadingTicket> cached = ((WorldBridge_Forge) world).forgeBridge$getForcedChunksView(forgeForcedChunks);
+        if (cached != null) {
+            return cached;
+        }
         final ImmutableSetMultimap.Builder<Vector3i, LoadingTicket> spongeForcedChunks = ImmutableSetMultimap.builder();
         for (final Map.Entry<ChunkPos, Ticket> ticketPair : forgeForcedChunks.entries()) {
-            spongeForcedChunks.put(new Vector3i(ticketPair.getKey().x, 0, ticketPair.getKey().z),
-                    new SpongeLoadingTicket(ticketPair.getValue()));
+            spongeForcedChunks.put(new Vector3i(ticketPair.getKey().x, 0, ticketPair.getKey().z), this.getTicket(ticketPair.getValue()));
         }
+        final ImmutableSetMultimap<Vector3i, LoadingTicket> view = spongeForcedChunks.build();
+        ((WorldBridge_Forge) world).forgeBridge$setForcedChunksView(forgeForcedChunks, view);
+        return view;
+    }
 
-        return spongeForcedChunks.build();
+    private static void trackBulkForce(final WorldServer world, final CompletableFuture<Void> future) {
+        final Set<CompletableFuture<Void>> futures = pendingBulkForces.computeIfAbsent(world, w -> new HashSet<>());
+        futures.add(future);
+        future.whenComplete((result, throwable) -> futures.remove(future));
     }
 
-    private class SpongeLoadingTicket implements ChunkTicketManager.LoadingTicket {
+    /**
+     * Fails the bulk forces of a world that is unloaded, the chunks they are
+     * still waiting for will never be loaded.
+     *
+     * @param world The unloaded world
+     */
+    public static void onWorldUnload(final WorldServer world) {
+        final Set<CompletableFuture<Void>> futures = pendingBulkForces.remove(world);
+        if (futures == null) {
+            return;
+        }
+        final IllegalStateException exception = new IllegalStateException("The world " + world.getWorldInfo().getWorldName() + " was unloaded");
+        for (final CompletableFuture<Void> future : new ArrayList<>(futures)) {
+            future.completeExceptionally(exception);
+        }
+    }
+
+    private LoadingTicket getTicket(final Ticket forgeTicket) {
+        final LoadingTicket ticket = ((TicketBridge_Forge) forgeTicket).forgeBridge$getSpongeTicket();
+        if (ticket != null) {
+            return ticket;
+        }
+        if (forgeTicket.isPlayerTicket()) {
+            return forgeTicket.getType() == ForgeChunkManager.Type.ENTITY
+                    ? new SpongePlayerEntityLoadingTicket(forgeTicket)
+                    : new SpongePlayerLoadingTicket(forgeTicket);
+        }
+        return forgeTicket.getType() == ForgeChunkManager.Type.ENTITY
+                ? new SpongeEntityLoadingTicket(forgeTicket)
+                : new SpongeLoadingTicket(forgeTicket);
+    }
+
+    private class SpongeLoadingTicket implements BulkLoadingTicket {
 
         ForgeChunkManager.Ticket forgeTicket;
         private final PluginContainer plugin;
@@ -159,6 +216,8 @@ private class SpongeLoadingTicket implements ChunkTicketManager.LoadingTicket {
             this.plugin = SpongeImpl.getGame().getPluginManager().getPlugin(ticket.getModId()).get();
             this.pluginId = this.plugin.getId();
             this.world = (World) ticket.world;
+            // Forced chunk views return the same wrapper for the ticket
+            ((TicketBridge_Forge) ticket).forgeBridge$setSpongeTicket(this);
         }
 
         @Override
@@ -222,16 +281,62 @@ public ImmutableSet<Vector3i> getChunkList() {
 
         @Override
         public void forceChunk(final Vector3i chunk) {
+            this.chunkList = null;
             ForgeChunkManager.forceChunk(this.forgeTicket, VecHelper.toChunkPos(chunk));
         }
 
+        @Override
+        public CompletableFuture<Void> forceChunks(final Collection<Vector3i> chunks) {
+            checkState(SpongeImplHooks.isMainThread(), "Chunks can only be forced on the main thread!");
+            final CompletableFuture<Void> future = new CompletableFuture<>();
+            if (chunks.isEmpty()) {
+                future.complete(null);
+                return future;
+            }
+            final List<ChunkPos> positions = new ArrayList<>(chunks.size());
+            for (final Vector3i chunk : chunks) {
+                positions.add(VecHelper.toChunkPos(chunk));
+            }
+            final WorldServer world = (WorldServer) this.forgeTicket.world;
+            trackBulkForce(world, future);
+            final ChunkProviderServer chunkProvider = world.getChunkProvider();
+            // Load callbacks are always run on the main thread
+            final int[] pending = {positions.size()};
+            for (final ChunkPos pos : positions) {
+                chunkProvider.loadChunk(pos.x, pos.z, () -> {
+                    if (future.isDone()) {
+                        // Failed or the world was unloaded
+                        return;
+                    }
+                    try {
+                        if (chunkProvider.getLoadedChunk(pos.x, pos.z) == null) {
+                            // Chunks that were never generated aren't loaded asynchronously
+                            chunkProvider.provideChunk(pos.x, pos.z);
+                        }
+                        // Forced right away, so the chunk can't be unloaded while the rest of the batch loads
+                        this.chunkList = null;
+                        ForgeChunkManager.forceChunk(this.forgeTicket, pos);
+                    } catch (Throwable t) {
+                        future.completeExceptionally(t);
+                        return;
+                    }
+                    if (--pending[0] == 0) {
+                        future.complete(null);
+                    }
+                });
+            }
+            return future;
+        }
+
         @Override
         public void unforceChunk(final Vector3i chunk) {
+            this.chunkList = null;
             ForgeChunkManager.unforceChunk(this.forgeTicket, VecHelper.toChunkPos(chunk));
         }
 
         @Override
         public void prioritizeChunk(final Vector3i chunk) {
+            this.chunkList = null;
             ForgeChunkManager.reorderChunk(this.forgeTicket, VecHelper.toChunkPos(chunk));
         }
 
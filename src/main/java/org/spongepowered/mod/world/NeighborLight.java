@@ -0,0 +1,107 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world;
+
+import net.minecraft.util.EnumFacing;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.EnumSkyBlock;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.ExtendedBlockStorage;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads the light of the neighbors of a block for {@code World#getRawLight}
+ * from their chunk sections, without creating a {@link BlockPos} for each
+ * neighbor or looking up the chunk again for neighbors within the same one.
+ */
+public final class NeighborLight {
+
+    private NeighborLight() {
+    }
+
+    /**
+     * Gets the highest light of the neighbors of a position less the given
+     * opacity, or the given light if that is higher.
+     *
+     * @param chunkProvider The chunk provider of the world
+     * @param hasSkyLight Whether the world has sky light
+     * @param lightType The light type
+     * @param x The x coordinate of the position
+     * @param y The y coordinate of the position
+     * @param z The z coordinate of the position
+     * @param light The light of the position itself
+     * @param opacity The light opacity of the position, at least 1
+     * @return The light, vanilla stops looking once it reaches 14
+     */
+    public static int getMax(final IChunkProvider chunkProvider, final boolean hasSkyLight, final EnumSkyBlock lightType,
+        final int x, final int y, final int z, int light, final int opacity) {
+        final Chunk chunk = chunkProvider.getLoadedChunk(x >> 4, z >> 4);
+        for (final EnumFacing facing : EnumFacing.VALUES) {
+            final int k = getLight(chunkProvider, hasSkyLight, lightType, chunk, x + facing.getXOffset(), y + facing.getYOffset(),
+                z + facing.getZOffset()) - opacity;
+
+            if (k > light) {
+                light = k;
+            }
+
+            if (light >= 14) {
+                return light;
+            }
+        }
+
+        return light;
+    }
+
+    /**
+     * Gets the light at a position like {@link World#getLightFor(EnumSkyBlock, BlockPos)}
+     * without creating a {@link BlockPos}, reusing the given chunk if the
+     * position is within it.
+     */
+    public static int getLight(final IChunkProvider chunkProvider, final boolean hasSkyLight, final EnumSkyBlock lightType,
+        @Nullable final Chunk chunk, final int x, int y, final int z) {
+        if (y < 0) {
+            y = 0;
+        }
+        if (y >= 256 || x < -30000000 || z < -30000000 || x >= 30000000 || z >= 30000000) {
+            return lightType.defaultLightValue;
+        }
+        final Chunk neighbor = chunk != null && chunk.x == x >> 4 && chunk.z == z >> 4 ? chunk : chunkProvider.getLoadedChunk(x >> 4, z >> 4);
+        if (neighbor == null) {
+            return lightType.defaultLightValue;
+        }
+        final ExtendedBlockStorage storage = neighbor.getBlockStorageArray()[y >> 4];
+        if (storage == Chunk.NULL_BLOCK_STORAGE) {
+            // Chunk#canSeeSky
+            return y >= neighbor.getHeightValue(x & 15, z & 15) ? lightType.defaultLightValue : 0;
+        }
+        if (lightType == EnumSkyBlock.SKY) {
+            return hasSkyLight ? storage.getSkyLight(x & 15, y & 15, z & 15) : 0;
+        }
+        return storage.getBlockLight(x & 15, y & 15, z & 15);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import com.google.common.collect.MapMaker;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.MinecraftException;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes the block sections of unloaded chunks off the server thread,
+ * enabled with the {@code sponge.chunk.asyncUnloadSave} system property, and
+ * tracks all chunk saves that didn't reach the pending chunks of their
+ * {@link AnvilChunkLoader} yet.
+ *
+ * <p>Unloaded chunks are still written to NBT on the server thread, their
+ * entities, tile entities and pending ticks may be shared with the world
+ * and mods expect {@code ChunkDataEvent.Save} there. Only the sections are
+ * snapshotted and encoded by the {@link ChunkSavePipeline} workers. A chunk
+ * isn't in the pending chunks of its chunk loader until its sections are
+ * encoded, so loads of the chunk wait for its save.</p>
+ */
+public final class AsyncChunkWriter {
+
+    private static final boolean ENABLED = Boolean.getBoolean("sponge.chunk.asyncUnloadSave");
+    private static final Map<AnvilChunkLoader, Map<Long, CompletableFuture<Void>>> pendingSaves = new MapMaker().weakKeys().makeMap();
+
+    private AsyncChunkWriter() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Saves an unloaded chunk, encoding its block sections off the server
+     * thread.
+     *
+     * @param world The world of the chunk
+     * @param loader The chunk loader of the world
+     * @param chunk The unloaded chunk
+     */
+    public static void save(final WorldServer world, final AnvilChunkLoader loader, final Chunk chunk) {
+        ChunkSavePipeline.setUnloadSave(true);
+        try {
+            loader.saveChunk(world, chunk);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Couldn't save chunk", e);
+        } catch (MinecraftException e) {
+            SpongeImpl.getLogger().error("Couldn't save chunk; already in use by another instance of Minecraft?", e);
+        } finally {
+            ChunkSavePipeline.setUnloadSave(false);
+        }
+    }
+
+    /**
+     * Tracks the save of a chunk that didn't reach the pending chunks of its
+     * chunk loader yet, until the future completes.
+     *
+     * @param loader The chunk loader
+     * @param pos The chunk position
+     * @param future The future that completes once the save reached the pending chunks
+     */
+    static void track(final AnvilChunkLoader loader, final long pos, final CompletableFuture<Void> future) {
+        final Map<Long, CompletableFuture<Void>> saves = pendingSaves.computeIfAbsent(loader, l -> new ConcurrentHashMap<>());
+        saves.put(pos, future);
+        future.whenComplete((result, throwable) -> saves.remove(pos, future));
+    }
+
+    /**
+     * Waits until the save of an unloaded chunk, if any, reached the pending
+     * chunks of its chunk loader.
+     *
+     * @param loader The chunk loader
+     * @param x The chunk x position
+     * @param z The chunk z position
+     */
+    public static void awaitSave(final AnvilChunkLoader loader, final int x, final int z) {
+        final Map<Long, CompletableFuture<Void>> saves = pendingSaves.get(loader);
+        if (saves == null || saves.isEmpty()) {
+            return;
+        }
+        final CompletableFuture<Void> future = saves.get(ChunkPos.asLong(x, z));
+        if (future != null) {
+            future.join();
+        }
+    }
+
+    /**
+     * Waits until the saves of all unloaded chunks of a chunk loader reached
+     * its pending chunks, before the chunk loader is flushed.
+     *
+     * @param loader The chunk loader
+     */
+    public static void awaitSaves(final AnvilChunkLoader loader) {
+        final Map<Long, CompletableFuture<Void>> saves = pendingSaves.get(loader);
+        if (saves == null) {
+            return;
+        }
+        for (final CompletableFuture<Void> future : saves.values()) {
+            future.join();
+        }
+    }
+
+    public static boolean hasPendingSaves() {
+        for (final Map<Long, CompletableFuture<Void>> saves : pendingSaves.values()) {
+            if (!saves.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Waits until the saves of all chunk loaders reached their pending
+     * chunks, before the file IO thread is flushed.
+     */
+    public static void awaitAllSaves() {
+        for (final Map<Long, CompletableFuture<Void>> saves : pendingSaves.values()) {
+            for (final CompletableFuture<Void> future : saves.values()) {
+                future.join();
+            }
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImplHooks;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders the asynchronous chunk loads of Forge's chunk IO executor by their
+ * distance to the nearest player, instead of first come first served.
+ *
+ * <p>Loads of chunks out of every player's view distance, such as chunk
+ * loader tickets or pregeneration, are queued behind all loads near players.
+ * Every queued load submits one dispatcher to the executor's pool, which runs
+ * the most important load queued at that time.</p>
+ */
+public final class ChunkIOPriorityQueue {
+
+    // Added to the priority of loads that no player is interested in
+    private static final int BACKGROUND_PENALTY = 1 << 16;
+
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final PriorityBlockingQueue<QueuedLoad> queue = new PriorityBlockingQueue<>(64,
+        Comparator.comparingInt((QueuedLoad load) -> load.priority).thenComparingLong(load -> load.sequence));
+    // The queued loads by their task, so they can be removed without scanning the queue
+    private static final Map<Runnable, QueuedLoad> loads = new ConcurrentHashMap<>();
+
+    private ChunkIOPriorityQueue() {
+    }
+
+    /**
+     * Queues the load task of a chunk.
+     *
+     * @param pool The pool of the chunk IO executor
+     * @param task The load task
+     * @param world The world of the chunk
+     * @param x The chunk x position
+     * @param z The chunk z position
+     */
+    public static void execute(final ThreadPoolExecutor pool, final Runnable task, final World world, final int x, final int z) {
+        final QueuedLoad load = new QueuedLoad(task, getPriority(world, x, z), sequence.getAndIncrement());
+        loads.put(task, load);
+        queue.offer(load);
+        pool.execute(ChunkIOPriorityQueue::runNext);
+    }
+
+    /**
+     * Removes the load task of a chunk if it didn't start yet. The removed
+     * load stays queued until its dispatcher polls and skips it.
+     *
+     * @param task The load task
+     * @return True if the task was removed before it started, in which case
+     *     it will never be run by the pool
+     */
+    public static boolean remove(final Runnable task) {
+        final QueuedLoad load = loads.remove(task);
+        // Only one of the dispatcher and the caller may claim a load
+        return load != null && load.claimed.compareAndSet(false, true);
+    }
+
+    private static void runNext() {
+        final QueuedLoad load = queue.poll();
+        if (load != null && load.claimed.compareAndSet(false, true)) {
+            loads.remove(load.task, load);
+            load.task.run();
+        }
+    }
+
+    private static int getPriority(final World world, final int x, final int z) {
+        if (!SpongeImplHooks.isMainThread() || !(world instanceof WorldServer)) {
+            return BACKGROUND_PENALTY;
+        }
+        int nearest = Integer.MAX_VALUE;
+        for (final EntityPlayer player : world.playerEntities) {
+            final int distance = Math.max(Math.abs(player.chunkCoordX - x), Math.abs(player.chunkCoordZ - z));
+            if (distance < nearest) {
+                nearest = distance;
+            }
+        }
+        if (nearest <= ((WorldServer) world).getMinecraftServer().getPlayerList().getViewDistance()) {
+            return nearest;
+        }
+        return BACKGROUND_PENALTY + Math.min(nearest, BACKGROUND_PENALTY);
+    }
+
+    private static final class QueuedLoad {
+
+        final Runnable task;
+        final int priority;
+        final long sequence;
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+        QueuedLoad(final Runnable task, final int priority, final long sequence) {
+            this.task = task;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import com.google.common.collect.MapMaker;
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.minecraft.entity.player.EntityPlayerMP;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
+import net.minecraftforge.common.ForgeChunkManager;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+import org.spongepowered.mod.bridge.world.WorldBridge_Forge;
+import org.spongepowered.mod.world.gen.SpongeChunkGeneratorForge;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads chunks ahead of fast moving players, such as players flying with
+ * an elytra or riding horses or minecarts, through the asynchronous chunk
+ * loading of {@link ChunkProviderServer#loadChunk(int, int, Runnable)}.
+ *
+ * <p>The heading and speed of each player are estimated from their movement
+ * over the last ticks. Chunks that will enter the player's view distance
+ * within the next {@link #LOOKAHEAD_TICKS} ticks are requested, at most
+ * {@link #BUDGET_PER_PLAYER} per player at a time, so they are resident once
+ * the player chunk map asks for them instead of being loaded synchronously.</p>
+ *
+ * <p>Prefetched chunks the player chunk map didn't ask for within
+ * {@link #LOOKAHEAD_TICKS} ticks are queued for unloading, unless a player
+ * or a ticket holds them by then. At most {@link #MAX_PENDING_PER_WORLD}
+ * chunks of a world are tracked, no more chunks are prefetched until some
+ * of them expire.</p>
+ */
+public final class ChunkPrefetcher {
+
+    private static final int INTERVAL_TICKS = 5;
+    private static final int LOOKAHEAD_TICKS = 60;
+    private static final int MAX_CHUNKS_AHEAD = 8;
+    private static final int BUDGET_PER_PLAYER = 16;
+    // Roughly the speed of a horse, players walking or sprinting don't need prefetching
+    private static final double MIN_SPEED = 0.4;
+    // Anything faster is considered a teleport
+    private static final double MAX_SPEED = 10.0;
+    private static final int MAX_PENDING_PER_WORLD = 4096;
+
+    private static final Map<EntityPlayerMP, Movement> movements = new MapMaker().weakKeys().makeMap();
+    // The prefetched chunks of each world with the tick their prediction expires
+    private static final Map<WorldServer, Long2LongMap> prefetched = new MapMaker().weakKeys().makeMap();
+
+    private static long requested;
+    private static long hits;
+    private static long late;
+
+    private ChunkPrefetcher() {
+    }
+
+    /**
+     * Updates the movement of the players of a world and prefetches chunks
+     * ahead of them. Called every tick of the player chunk map.
+     *
+     * @param world The world
+     * @param players The players in the world's player chunk map
+     * @param viewRadius The view radius in chunks
+     */
+    public static void tick(final WorldServer world, final List<EntityPlayerMP> players, final int viewRadius) {
+        final boolean prefetch = world.getTotalWorldTime() % INTERVAL_TICKS == 0;
+        if (prefetch) {
+            unloadExpired(world);
+        }
+        if (players.isEmpty()) {
+            return;
+        }
+        for (final EntityPlayerMP player : players) {
+            final Movement movement = movements.computeIfAbsent(player, p -> new Movement(p.posX, p.posZ));
+            movement.update(player.posX, player.posZ);
+            if (prefetch && movement.getSpeed() >= MIN_SPEED) {
+                prefetch(world, player, movement, viewRadius);
+            }
+        }
+    }
+
+    private static void prefetch(final WorldServer world, final EntityPlayerMP player, final Movement movement, final int viewRadius) {
+        final ChunkProviderServer chunkProvider = world.getChunkProvider();
+        // Without asynchronous chunk loading, prefetching would load the chunks synchronously
+        if (!ForgeChunkManager.asyncChunkLoading || !(chunkProvider.chunkLoader instanceof AnvilChunkLoader)) {
+            return;
+        }
+        final AnvilChunkLoader loader = (AnvilChunkLoader) chunkProvider.chunkLoader;
+        final Long2LongMap pending = prefetched.computeIfAbsent(world, w -> new Long2LongOpenHashMap());
+        final SpongeChunkGeneratorForge generator = ((WorldServerBridge) world).bridge$getSpongeGenerator() instanceof SpongeChunkGeneratorForge
+            ? (SpongeChunkGeneratorForge) ((WorldServerBridge) world).bridge$getSpongeGenerator() : null;
+        if (pending.size() >= MAX_PENDING_PER_WORLD) {
+            // Wait for the predictions that never came true to expire, dropping them would keep their chunks loaded
+            return;
+        }
+
+        final double speed = movement.getSpeed();
+        final int chunksAhead = (int) Math.min(MAX_CHUNKS_AHEAD, speed * LOOKAHEAD_TICKS / 16);
+        if (chunksAhead < 1) {
+            return;
+        }
+        final int playerX = player.chunkCoordX;
+        final int playerZ = player.chunkCoordZ;
+        final int centerX = playerX + (int) Math.round(movement.velocityX / speed * chunksAhead);
+        final int centerZ = playerZ + (int) Math.round(movement.velocityZ / speed * chunksAhead);
+
+        // The chunks around the predicted position which are not in view yet, nearest first
+        final List<ChunkPos> candidates = new ArrayList<>();
+        for (int x = centerX - viewRadius; x <= centerX + viewRadius; x++) {
+            for (int z = centerZ - viewRadius; z <= centerZ + viewRadius; z++) {
+                if (Math.abs(x - playerX) > viewRadius || Math.abs(z - playerZ) > viewRadius) {
+                    candidates.add(new ChunkPos(x, z));
+                }
+            }
+        }
+        candidates.sort((a, b) -> Integer.compare(distance(a, playerX, playerZ), distance(b, playerX, playerZ)));
+
+        int budget = BUDGET_PER_PLAYER;
+        for (final ChunkPos candidate : candidates) {
+            if (budget == 0 || pending.size() >= MAX_PENDING_PER_WORLD) {
+                break;
+            }
+            final long pos = ChunkPos.asLong(candidate.x, candidate.z);
+            if (pending.containsKey(pos) || chunkProvider.getLoadedChunk(candidate.x, candidate.z) != null) {
+                continue;
+            }
+            // Chunks which still have to be generated can't be loaded asynchronously, but their terrain may be prepared off-thread
+            if (!loader.isChunkGeneratedAt(candidate.x, candidate.z)) {
+                if (generator != null && generator.preparePrimer(candidate.x, candidate.z)) {
+                    budget--;
+                }
+                continue;
+            }
+            pending.put(pos, world.getTotalWorldTime() + LOOKAHEAD_TICKS);
+            chunkProvider.loadChunk(candidate.x, candidate.z, () -> { });
+            requested++;
+            budget--;
+        }
+    }
+
+    private static void unloadExpired(final WorldServer world) {
+        final Long2LongMap pending = prefetched.get(world);
+        if (pending == null || pending.isEmpty()) {
+            return;
+        }
+        final long now = world.getTotalWorldTime();
+        final ChunkProviderServer chunkProvider = world.getChunkProvider();
+        for (final ObjectIterator<Long2LongMap.Entry> iterator = pending.long2LongEntrySet().iterator(); iterator.hasNext(); ) {
+            final Long2LongMap.Entry entry = iterator.next();
+            if (entry.getLongValue() > now) {
+                continue;
+            }
+            final long pos = entry.getLongKey();
+            final int x = (int) pos;
+            final int z = (int) (pos >> 32);
+            final Chunk chunk = chunkProvider.getLoadedChunk(x, z);
+            if (chunk == null) {
+                // Still loading, checked again once it is loaded, unless it was loaded and unloaded again in the meantime
+                if (entry.getLongValue() + LOOKAHEAD_TICKS <= now) {
+                    iterator.remove();
+                }
+                continue;
+            }
+            iterator.remove();
+            if (!world.getPlayerChunkMap().contains(x, z) && !((WorldBridge_Forge) world).forgeBridge$isPersistentChunk(pos)) {
+                chunkProvider.queueUnload(chunk);
+            }
+        }
+    }
+
+    private static int distance(final ChunkPos pos, final int x, final int z) {
+        return Math.max(Math.abs(pos.x - x), Math.abs(pos.z - z));
+    }
+
+    /**
+     * Records whether a chunk requested by the player chunk map was
+     * prefetched in time.
+     *
+     * @param world The world
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @param loaded Whether the chunk was already loaded
+     */
+    public static void onPlayerChunkRequested(final WorldServer world, final int x, final int z, final boolean loaded) {
+        final Long2LongMap pending = prefetched.get(world);
+        final long pos = ChunkPos.asLong(x, z);
+        if (pending == null || !pending.containsKey(pos)) {
+            return;
+        }
+        pending.remove(pos);
+        if (loaded) {
+            hits++;
+        } else {
+            late++;
+        }
+    }
+
+    public static long getRequested() {
+        return requested;
+    }
+
+    /**
+     * Gets the number of prefetched chunks that were loaded by the time the
+     * player chunk map requested them.
+     *
+     * @return The number of hits
+     */
+    public static long getHits() {
+        return hits;
+    }
+
+    /**
+     * Gets the number of prefetched chunks that were still loading when the
+     * player chunk map requested them.
+     *
+     * @return The number of late prefetches
+     */
+    public static long getLate() {
+        return late;
+    }
+
+    public static void resetMetrics() {
+        requested = 0;
+        hits = 0;
+        late = 0;
+    }
+
+    private static final class Movement {
+
+        double lastX;
+        double lastZ;
+        double velocityX;
+        double velocityZ;
+
+        Movement(final double x, final double z) {
+            this.lastX = x;
+            this.lastZ = z;
+        }
+
+        void update(final double x, final double z) {
+            final double dx = x - this.lastX;
+            final double dz = z - this.lastZ;
+            this.lastX = x;
+            this.lastZ = z;
+            if (Math.abs(dx) > MAX_SPEED || Math.abs(dz) > MAX_SPEED) {
+                this.velocityX = 0;
+                this.velocityZ = 0;
+                return;
+            }
+            // Smooth out the jitter of client movement packets
+            this.velocityX = this.velocityX * 0.75 + dx * 0.25;
+            this.velocityZ = this.velocityZ * 0.75 + dz * 0.25;
+        }
+
+        double getSpeed() {
+            return Math.sqrt(this.velocityX * this.velocityX + this.velocityZ * this.velocityZ);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.block.Block;
+import net.minecraft.block.state.IBlockState;
+import net.minecraft.init.Blocks;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.BitArray;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.chunk.BlockStateContainer;
+import net.minecraft.world.chunk.BlockStatePaletteRegistry;
+import net.minecraft.world.chunk.IBlockStatePalette;
+import net.minecraft.world.chunk.NibbleArray;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraftforge.event.world.ChunkDataEvent;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
+import org.spongepowered.mod.event.SpongeToForgeEventMapping;
+import org.spongepowered.mod.mixin.core.world.chunk.BlockStateContainerAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Moves the encoding of the block sections of saved chunks off the server
+ * thread, enabled with the {@code sponge.chunk.asyncSave} system property.
+ * The saves of unloaded chunks also go through here if
+ * {@code sponge.chunk.asyncUnloadSave} is enabled, see
+ * {@link AsyncChunkWriter}.
+ *
+ * <p>While a chunk is saved on the server thread, its block sections are
+ * only snapshotted, the entities, tile entities and everything mods add are
+ * written as usual. The snapshots are encoded into the chunk's data by the
+ * save workers, {@code sponge.chunk.saveThreads} (2 by default), which then
+ * hand the data to the file IO thread to be serialized, compressed and
+ * written. At most {@code sponge.chunk.saveQueue} (256 by default) saves
+ * wait for a worker, beyond that the server thread encodes the sections
+ * itself, so an autosave can't queue up unbounded memory. Queueing with
+ * the file IO thread is made safe for the workers by
+ * {@code ThreadedFileIOBaseMixin_Forge}.</p>
+ *
+ * <p>Only saves on the server thread are snapshotted, a chunk a mod saves on
+ * another thread is written as usual. While a mod listens to
+ * {@link ChunkDataEvent.Save}, chunks are encoded on the server thread as
+ * well, as the event would otherwise see the {@code Blocks} and
+ * {@code Data} arrays of the sections before they are encoded.</p>
+ */
+public final class ChunkSavePipeline {
+
+    private static final boolean ENABLED = Boolean.getBoolean("sponge.chunk.asyncSave");
+    private static final int THREADS = Integer.getInteger("sponge.chunk.saveThreads", 2);
+    private static final int QUEUE_SIZE = Integer.getInteger("sponge.chunk.saveQueue", 256);
+
+    @Nullable private static final ThreadPoolExecutor executor = ENABLED || AsyncChunkWriter.isEnabled() ? new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(QUEUE_SIZE), new ThreadFactoryBuilder()
+            .setNameFormat("Sponge Chunk Save Worker #%d")
+            .setDaemon(true)
+            .build(),
+        new ThreadPoolExecutor.CallerRunsPolicy()) : null;
+
+    // Only accessed on the server thread
+    private static boolean unloadSave;
+    // The sections of the chunk that is currently saved on the server thread, or null
+    @Nullable private static List<SectionSnapshot> sections;
+
+    private ChunkSavePipeline() {
+    }
+
+    /**
+     * Starts the save of a chunk. Waits for a previous save of the chunk that
+     * is still being encoded, so the saves of a chunk reach the file IO
+     * thread in order.
+     *
+     * @param loader The chunk loader
+     * @param x The chunk x position
+     * @param z The chunk z position
+     */
+    public static void begin(final AnvilChunkLoader loader, final int x, final int z) {
+        if (executor == null) {
+            return;
+        }
+        // Also if this save is encoded in place, it must not be overtaken by an earlier one
+        AsyncChunkWriter.awaitSave(loader, x, z);
+        if (!SpongeImplHooks.isMainThread() || !(ENABLED || unloadSave)
+            || SpongeToForgeEventMapping.hasListenerInHierarchy(ChunkDataEvent.Save.class)) {
+            return;
+        }
+        sections = new ArrayList<>(16);
+    }
+
+    public static void end() {
+        if (SpongeImplHooks.isMainThread()) {
+            sections = null;
+        }
+    }
+
+    /**
+     * Sets whether the chunks saved on the server thread are unloaded
+     * chunks, which go through here even if {@code sponge.chunk.asyncSave}
+     * isn't enabled.
+     *
+     * @param unloadSave Whether unloaded chunks are saved
+     */
+    static void setUnloadSave(final boolean unloadSave) {
+        ChunkSavePipeline.unloadSave = unloadSave;
+    }
+
+    /**
+     * Snapshots a block section of the chunk being saved instead of encoding
+     * it, replaces {@link BlockStateContainer#getDataForNBT(byte[], NibbleArray)}.
+     *
+     * @param container The block states of the section
+     * @param blockIds The array the block ids are encoded into
+     * @param data The array the block metadata is encoded into
+     * @return The additional block id bits, always null if the section is
+     *     encoded later
+     */
+    @Nullable
+    public static NibbleArray getDataForNBT(final BlockStateContainer container, final byte[] blockIds, final NibbleArray data) {
+        if (sections == null || !SpongeImplHooks.isMainThread()) {
+            return container.getDataForNBT(blockIds, data);
+        }
+        sections.add(new SectionSnapshot((BlockStateContainerAccessor) container, blockIds, data));
+        return null;
+    }
+
+    /**
+     * Remembers the compound of a snapshotted section, so the additional
+     * block id bits can be added once they are known.
+     *
+     * @param compound The compound
+     * @param key The key
+     * @param value The byte array
+     */
+    public static void setByteArray(final NBTTagCompound compound, final String key, final byte[] value) {
+        compound.setByteArray(key, value);
+        if (sections != null && !sections.isEmpty() && "Blocks".equals(key) && SpongeImplHooks.isMainThread()) {
+            final SectionSnapshot section = sections.get(sections.size() - 1);
+            if (section.blockIds == value) {
+                section.compound = compound;
+            }
+        }
+    }
+
+    /**
+     * Hands the data of the chunk being saved to the file IO thread, once
+     * its sections are encoded.
+     *
+     * @param loader The chunk loader
+     * @param pos The chunk position
+     * @param addToPending Adds the data to the pending chunks of the loader
+     */
+    public static void addChunkToPending(final AnvilChunkLoader loader, final ChunkPos pos, final Runnable addToPending) {
+        if (!SpongeImplHooks.isMainThread()) {
+            addToPending.run();
+            return;
+        }
+        final List<SectionSnapshot> snapshots = sections;
+        sections = null;
+        if (snapshots == null || snapshots.isEmpty()) {
+            addToPending.run();
+            return;
+        }
+        for (final SectionSnapshot snapshot : snapshots) {
+            if (snapshot.compound == null) {
+                // Something else wrote the section, encode in place to be safe
+                encode(snapshots, pos);
+                addToPending.run();
+                return;
+            }
+        }
+        AsyncChunkWriter.track(loader, ChunkPos.asLong(pos.x, pos.z), CompletableFuture.runAsync(() -> {
+            if (encode(snapshots, pos)) {
+                addToPending.run();
+            }
+        }, executor));
+    }
+
+    private static boolean encode(final List<SectionSnapshot> snapshots, final ChunkPos pos) {
+        try {
+            for (final SectionSnapshot snapshot : snapshots) {
+                snapshot.encode();
+            }
+            return true;
+        } catch (Throwable t) {
+            // Writing a chunk with half encoded sections would corrupt it, keep the previously saved data instead
+            SpongeImpl.getLogger().error("Failed to encode the block sections of chunk {}, it wasn't saved", pos, t);
+            return false;
+        }
+    }
+
+    private static final class SectionSnapshot {
+
+        final BitArray storage;
+        // The block states of the palette, or null for the global palette
+        @Nullable final IBlockState[] states;
+        final byte[] blockIds;
+        final NibbleArray data;
+        @Nullable NBTTagCompound compound;
+
+        SectionSnapshot(final BlockStateContainerAccessor container, final byte[] blockIds, final NibbleArray data) {
+            final BitArray storage = container.forgeAccessor$getStorage();
+            final int bits = container.forgeAccessor$getBits();
+            this.storage = new BitArray(bits, 4096);
+            System.arraycopy(storage.getBackingLongArray(), 0, this.storage.getBackingLongArray(), 0, storage.getBackingLongArray().length);
+            final IBlockStatePalette palette = container.forgeAccessor$getPalette();
+            if (palette instanceof BlockStatePaletteRegistry) {
+                this.states = null;
+            } else {
+                this.states = new IBlockState[1 << bits];
+                for (int i = 0; i < this.states.length; i++) {
+                    this.states[i] = palette.getBlockState(i);
+                }
+            }
+            this.blockIds = blockIds;
+            this.data = data;
+        }
+
+        // Mirrors BlockStateContainer#getDataForNBT
+        void encode() {
+            NibbleArray add = null;
+            for (int i = 0; i < 4096; i++) {
+                final int paletteId = this.storage.getAt(i);
+                IBlockState state;
+                if (this.states == null) {
+                    state = Block.BLOCK_STATE_IDS.getByValue(paletteId);
+                } else {
+                    state = paletteId < this.states.length ? this.states[paletteId] : null;
+                }
+                if (state == null) {
+                    state = Blocks.AIR.getDefaultState();
+                }
+                final int id = Block.BLOCK_STATE_IDS.get(state);
+                final int x = i & 15;
+                final int y = i >> 8 & 15;
+                final int z = i >> 4 & 15;
+                if ((id >> 12 & 15) != 0) {
+                    if (add == null) {
+                        add = new NibbleArray();
+                    }
+                    add.set(x, y, z, id >> 12 & 15);
+                }
+                this.blockIds[i] = (byte) (id >> 4 & 255);
+                this.data.set(x, y, z, id & 15);
+            }
+            if (add != null && this.compound != null) {
+                this.compound.setByteArray("Add", add.getData());
+            }
+        }
+    }
+}
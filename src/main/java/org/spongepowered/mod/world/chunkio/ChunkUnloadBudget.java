@@ -0,0 +1,124 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+
+/**
+ * The time per tick that chunk unloading and chunk GC may take, shared by
+ * all worlds.
+ *
+ * <p>The budget defaults to 5ms and can be changed with the
+ * {@code sponge.chunk.unloadBudgetMicros} system property. Chunks queued for
+ * unload beyond the budget stay loaded until a later tick, so a wave of
+ * unloads, such as when a player logs out, is spread over several ticks
+ * instead of causing a lag spike. A few chunks of each world are unloaded
+ * every tick regardless, so unloads keep up while the server lags.</p>
+ */
+public final class ChunkUnloadBudget {
+
+    private static final long BUDGET_NANOS = Long.getLong("sponge.chunk.unloadBudgetMicros", 5000) * 1000L;
+    private static final int MIN_UNLOADS_PER_WORLD = 2;
+    // The ticks the chunk GC of a world may be postponed in a row
+    private static final int MAX_POSTPONED_GC_TICKS = 100;
+
+    private static final Int2IntMap postponedCollections = new Int2IntOpenHashMap();
+    private static int currentTick = -1;
+    private static long remainingNanos;
+    // The time of the previous check of the unload loop running, or 0
+    private static long lastCheck;
+    private static int unloads;
+
+    private ChunkUnloadBudget() {
+    }
+
+    private static void refresh(final MinecraftServer server) {
+        if (server.getTickCounter() != currentTick) {
+            currentTick = server.getTickCounter();
+            remainingNanos = BUDGET_NANOS;
+        }
+    }
+
+    /**
+     * Checks whether the unload loop of a chunk provider may continue with
+     * its next chunk, charging the time spent since the previous check.
+     *
+     * @param server The server
+     * @return True if there is time left
+     */
+    public static boolean canContinueUnloading(final MinecraftServer server) {
+        final long now = System.nanoTime();
+        if (lastCheck == 0) {
+            refresh(server);
+            unloads = 0;
+        } else {
+            remainingNanos -= now - lastCheck;
+        }
+        lastCheck = now;
+        return remainingNanos > 0 || unloads < MIN_UNLOADS_PER_WORLD;
+    }
+
+    public static void onChunkUnloaded() {
+        unloads++;
+    }
+
+    /**
+     * Charges the rest of the unload loop of a chunk provider, called when
+     * its tick returns.
+     */
+    public static void endUnloading() {
+        if (lastCheck != 0) {
+            remainingNanos -= System.nanoTime() - lastCheck;
+            lastCheck = 0;
+        }
+    }
+
+    /**
+     * Checks whether the chunk GC of a world may run this tick. The chunk GC
+     * of a world is postponed while there is no time left, for at most
+     * {@link #MAX_POSTPONED_GC_TICKS} ticks.
+     *
+     * @param world The world
+     * @return True if the chunk GC may run
+     */
+    public static boolean canCollectGarbage(final WorldServer world) {
+        refresh(world.getMinecraftServer());
+        final int dimensionId = ((WorldServerBridge) world).bridge$getDimensionId();
+        if (remainingNanos > 0 || postponedCollections.get(dimensionId) >= MAX_POSTPONED_GC_TICKS) {
+            postponedCollections.remove(dimensionId);
+            return true;
+        }
+        postponedCollections.put(dimensionId, postponedCollections.get(dimensionId) + 1);
+        return false;
+    }
+
+    public static void charge(final long nanos) {
+        remainingNanos -= nanos;
+    }
+}
@@ -0,0 +1,279 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import net.minecraft.nbt.CompressedStreamTools;
+import net.minecraft.nbt.NBTTagCompound;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraftforge.common.ForgeChunkManager;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keeps the compressed data of recently unloaded chunks in memory, so
+ * chunks that are loaded again soon after, such as at the border of a
+ * player's view distance, don't have to be read from their region file.
+ *
+ * <p>Replaces the dormant chunk cache of {@link ForgeChunkManager}, which
+ * keeps whole chunks with their entities. The cache is bounded by the size
+ * of the compressed data, 64 megabytes by default which can be changed with
+ * the {@code sponge.chunk.dormantCacheMegabytes} system property, and evicts
+ * the least recently unloaded chunks first. A size of 0 disables the cache
+ * and restores Forge's.</p>
+ *
+ * <p>The data of a chunk is cached when the chunk loader writes the data of
+ * an unloaded chunk to its region file, and dropped whenever the chunk is
+ * written again while loaded, so the cache never differs from the region
+ * file. The chunks of a world are dropped when the world is unloaded.</p>
+ */
+public final class DormantChunkCache {
+
+    private static final long MAX_BYTES = Long.getLong("sponge.chunk.dormantCacheMegabytes", 64) * 1024 * 1024;
+
+    // Guarded by itself, accessed by the file IO thread and the chunk loading threads
+    private static final LinkedHashMap<Key, byte[]> cache = new LinkedHashMap<>(256, 0.75f, true);
+    private static final Set<Key> unloaded = ConcurrentHashMap.newKeySet();
+    private static long bytes;
+    private static long hits;
+    private static long misses;
+    private static long evictions;
+
+    private DormantChunkCache() {
+    }
+
+    public static boolean isEnabled() {
+        return MAX_BYTES > 0;
+    }
+
+    /**
+     * Marks a chunk as unloaded, the next write of its data is cached.
+     *
+     * @param directory The save directory of the chunk loader
+     * @param pos The chunk position, as in {@link ChunkPos#asLong(int, int)}
+     */
+    public static void markUnloaded(final File directory, final long pos) {
+        if (isEnabled()) {
+            unloaded.add(new Key(directory, pos));
+        }
+    }
+
+    /**
+     * Caches or drops the data of a chunk that is written to its region file.
+     *
+     * @param directory The save directory of the chunk loader
+     * @param pos The chunk position
+     * @param compound The chunk data
+     */
+    public static void onChunkWritten(final File directory, final ChunkPos pos, final NBTTagCompound compound) {
+        if (!isEnabled()) {
+            return;
+        }
+        final Key key = new Key(directory, ChunkPos.asLong(pos.x, pos.z));
+        if (!unloaded.remove(key)) {
+            synchronized (cache) {
+                remove(key);
+            }
+            return;
+        }
+        final byte[] data;
+        try {
+            data = compress(compound);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to cache the data of unloaded chunk {}", pos, e);
+            synchronized (cache) {
+                remove(key);
+            }
+            return;
+        }
+        synchronized (cache) {
+            remove(key);
+            cache.put(key, data);
+            bytes += data.length;
+            for (final Iterator<byte[]> iterator = cache.values().iterator(); bytes > MAX_BYTES && iterator.hasNext(); ) {
+                bytes -= iterator.next().length;
+                iterator.remove();
+                evictions++;
+            }
+        }
+    }
+
+    /**
+     * Takes the cached data of a chunk that is loaded, in the format of
+     * {@link net.minecraft.world.chunk.storage.RegionFileCache#getChunkInputStream(File, int, int)}.
+     *
+     * @param directory The save directory of the chunk loader
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return The data, or null if the chunk isn't cached
+     */
+    @Nullable
+    public static DataInputStream fetch(final File directory, final int x, final int z) {
+        if (!isEnabled()) {
+            return null;
+        }
+        final Key key = new Key(directory, ChunkPos.asLong(x, z));
+        // A chunk which is loaded again before its data is written isn't dormant anymore
+        unloaded.remove(key);
+        final byte[] data;
+        synchronized (cache) {
+            data = cache.remove(key);
+            if (data == null) {
+                misses++;
+                return null;
+            }
+            bytes -= data.length;
+            hits++;
+        }
+        return new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(data))));
+    }
+
+    /**
+     * Drops the cached data of all chunks of a chunk loader, when its world
+     * is unloaded.
+     *
+     * @param directory The save directory of the chunk loader
+     */
+    public static void clear(final File directory) {
+        if (!isEnabled()) {
+            return;
+        }
+        // Chunks which are still written after this aren't cached anymore
+        unloaded.removeIf(key -> key.directory.equals(directory));
+        synchronized (cache) {
+            for (final Iterator<Map.Entry<Key, byte[]>> iterator = cache.entrySet().iterator(); iterator.hasNext(); ) {
+                final Map.Entry<Key, byte[]> entry = iterator.next();
+                if (entry.getKey().directory.equals(directory)) {
+                    bytes -= entry.getValue().length;
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private static void remove(final Key key) {
+        final byte[] data = cache.remove(key);
+        if (data != null) {
+            bytes -= data.length;
+        }
+    }
+
+    private static byte[] compress(final NBTTagCompound compound) throws IOException {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(8192);
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DataOutputStream stream = new DataOutputStream(new DeflaterOutputStream(output, deflater))) {
+            CompressedStreamTools.write(compound, stream);
+        } finally {
+            deflater.end();
+        }
+        return output.toByteArray();
+    }
+
+    public static long getHits() {
+        synchronized (cache) {
+            return hits;
+        }
+    }
+
+    public static long getMisses() {
+        synchronized (cache) {
+            return misses;
+        }
+    }
+
+    public static long getEvictions() {
+        synchronized (cache) {
+            return evictions;
+        }
+    }
+
+    public static long getBytes() {
+        synchronized (cache) {
+            return bytes;
+        }
+    }
+
+    public static long getMaxBytes() {
+        return MAX_BYTES;
+    }
+
+    public static int getSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public static void resetMetrics() {
+        synchronized (cache) {
+            hits = 0;
+            misses = 0;
+            evictions = 0;
+        }
+    }
+
+    private static final class Key {
+
+        final File directory;
+        final long pos;
+
+        Key(final File directory, final long pos) {
+            this.directory = directory;
+            this.pos = pos;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) o;
+            return this.pos == other.pos && this.directory.equals(other.directory);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * this.directory.hashCode() + Long.hashCode(this.pos);
+        }
+    }
+}
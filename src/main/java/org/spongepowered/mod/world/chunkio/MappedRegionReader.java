@@ -0,0 +1,117 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import net.minecraft.world.chunk.storage.RegionFile;
+import net.minecraft.world.chunk.storage.RegionFileCache;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.mod.bridge.world.RegionFileBridge_Forge;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads chunks from memory-mapped region files instead of seeking and
+ * reading them through their {@link java.io.RandomAccessFile}, enabled with
+ * the {@code sponge.chunk.mappedRegions} system property.
+ *
+ * <p>A chunk read from a region file takes several system calls, a read
+ * of four bytes alone takes four. Reading from a mapping of the file takes
+ * none once the file is in the page cache. The chunk offsets are taken
+ * from the header the {@link RegionFile} keeps in memory.</p>
+ */
+public final class MappedRegionReader {
+
+    private static final boolean ENABLED = Boolean.getBoolean("sponge.chunk.mappedRegions");
+
+    private MappedRegionReader() {
+    }
+
+    /**
+     * Gets the data of a chunk, same as
+     * {@link RegionFileCache#getChunkInputStream(File, int, int)}.
+     *
+     * @param directory The save directory of the chunk loader
+     * @param x The chunk x position
+     * @param z The chunk z position
+     * @return The data, or null if the chunk isn't saved
+     */
+    @Nullable
+    public static DataInputStream getChunkInputStream(final File directory, final int x, final int z) {
+        if (!ENABLED) {
+            return RegionFileCache.getChunkInputStream(directory, x, z);
+        }
+        final RegionFile region = RegionFileCache.createOrLoadRegionFile(directory, x, z);
+        try {
+            return ((RegionFileBridge_Forge) region).forgeBridge$getMappedChunkDataInputStream(x & 31, z & 31);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().warn("Failed to map the region file of chunk ({}, {}) in {}, reading it instead", x, z, directory, e);
+            return region.getChunkDataInputStream(x & 31, z & 31);
+        }
+    }
+
+    /**
+     * Reads the data of a chunk from a mapping of its region file, same as
+     * {@link RegionFile#getChunkDataInputStream(int, int)}. The compressed
+     * data is copied out of the mapping, as Java 8's inflater only takes
+     * arrays.
+     *
+     * @param data The mapping, at least up to the end of the chunk's sectors
+     * @param start The offset of the chunk's first sector
+     * @param sectorCount The number of sectors of the chunk
+     * @return The data, or null if the chunk is malformed
+     * @throws EOFException If the data of the chunk lies beyond the mapping
+     * @throws IOException If the data couldn't be decompressed
+     */
+    @Nullable
+    public static DataInputStream readChunk(final ByteBuffer data, final int start, final int sectorCount) throws IOException {
+        final int length = data.getInt(start);
+        if (length > 4096 * sectorCount || length <= 0) {
+            return null;
+        }
+        if ((long) start + 4 + length > data.limit()) {
+            throw new EOFException("The chunk data lies beyond the end of the mapping");
+        }
+        final byte version = data.get(start + 4);
+        final byte[] compressed = new byte[length - 1];
+        data.position(start + 5);
+        data.get(compressed);
+        if (version == 1) {
+            return new DataInputStream(new BufferedInputStream(new GZIPInputStream(new ByteArrayInputStream(compressed))));
+        } else if (version == 2) {
+            return new DataInputStream(new BufferedInputStream(new InflaterInputStream(new ByteArrayInputStream(compressed))));
+        }
+        return null;
+    }
+}
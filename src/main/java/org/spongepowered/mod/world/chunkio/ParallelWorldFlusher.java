@@ -0,0 +1,108 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.chunkio;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes the pending chunks of all worlds in parallel while the server
+ * stops, one world per save thread, instead of leaving them to the single
+ * file IO thread. The number of threads is limited by the
+ * {@code sponge.shutdown.saveThreads} system property, by default the
+ * number of processors up to 4.
+ *
+ * <p>Worlds are independent on disk: each has its own chunk loader and
+ * region files, and the file IO thread only helps the loaders drain.</p>
+ */
+public final class ParallelWorldFlusher {
+
+    private static final int THREADS = Integer.getInteger("sponge.shutdown.saveThreads", Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private ParallelWorldFlusher() {
+    }
+
+    /**
+     * Writes the pending chunks of the worlds to disk.
+     *
+     * @param worlds The worlds, null elements are skipped
+     * @return The time in nanoseconds it took to write the chunks of each world
+     */
+    public static Map<WorldServer, Long> flush(final WorldServer[] worlds) {
+        final Map<WorldServer, Long> times = new IdentityHashMap<>();
+        final List<WorldServer> toFlush = new ArrayList<>(worlds.length);
+        for (final WorldServer world : worlds) {
+            if (world != null) {
+                toFlush.add(world);
+            }
+        }
+        if (toFlush.isEmpty()) {
+            return times;
+        }
+        if (THREADS <= 1 || toFlush.size() == 1) {
+            for (final WorldServer world : toFlush) {
+                times.put(world, flush(world));
+            }
+            return times;
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(THREADS, toFlush.size()), new ThreadFactoryBuilder()
+            .setNameFormat("Sponge Shutdown Save #%d")
+            .setDaemon(true)
+            .build());
+        try {
+            final List<CompletableFuture<Long>> futures = new ArrayList<>(toFlush.size());
+            for (final WorldServer world : toFlush) {
+                futures.add(CompletableFuture.supplyAsync(() -> flush(world), executor));
+            }
+            for (int i = 0; i < toFlush.size(); i++) {
+                times.put(toFlush.get(i), futures.get(i).join());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        return times;
+    }
+
+    private static long flush(final WorldServer world) {
+        final long start = System.nanoTime();
+        try {
+            // Also waits for the chunks that are still being encoded
+            world.getChunkProvider().chunkLoader.flush();
+        } catch (Throwable t) {
+            // Whatever is left is written by the file IO thread when the world is flushed
+            SpongeImpl.getLogger().error("Failed to write the chunks of dimension {}", world.provider.getDimension(), t);
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import javax.annotation.Nullable;
+
+/**
+ * The worker pool that prepares the base terrain of chunks off the server
+ * thread, for worlds whose generators are flagged {@link ThreadSafeGenerator}.
+ *
+ * <p>Disabled unless the {@code sponge.generation.async} system property is
+ * set. The number of workers defaults to half of the available processors
+ * and can be changed with {@code sponge.generation.threads}. Worlds using
+ * the vanilla generators are never flagged, see
+ * {@link ThreadSafeGenerator}.</p>
+ */
+public final class GenerationWorkers {
+
+    private static final boolean ENABLED = Boolean.getBoolean("sponge.generation.async");
+    private static final int THREADS = Integer.getInteger("sponge.generation.threads",
+        Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+
+    @Nullable private static final ExecutorService executor = ENABLED ? Executors.newFixedThreadPool(THREADS, new ThreadFactoryBuilder()
+        .setNameFormat("Sponge Generation Worker #%d")
+        .setDaemon(true)
+        .setPriority(Thread.NORM_PRIORITY - 1)
+        .build()) : null;
+
+    private GenerationWorkers() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static void execute(final Runnable task) {
+        if (executor != null) {
+            executor.execute(task);
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.common.bridge.world.WorldServerBridge;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the chunks of a square area of a world in a spiral around its
+ * center, a few at a time as {@link WorldPregenerator} allows.
+ *
+ * <p>The progress is stored in the world directory, so the job continues
+ * where it stopped after the world is loaded again.</p>
+ */
+public final class PregenerationJob {
+
+    private static final String PROGRESS_FILE = "sponge_pregen.json";
+    // The number of chunks ahead whose terrain is prepared by the generation workers
+    private static final int PREPARE_AHEAD = 32;
+
+    private final WorldServer world;
+    private final int centerX;
+    private final int centerZ;
+    private final int radius;
+    private final long total;
+    private long index;
+    private long prepareIndex;
+    private long generated;
+    private boolean paused;
+    // The chunks loaded by this job which have to be unloaded once their neighbors are generated
+    private final LongArrayFIFOQueue loadedChunks = new LongArrayFIFOQueue();
+
+    PregenerationJob(final WorldServer world, final int centerX, final int centerZ, final int radius) {
+        this.world = world;
+        this.centerX = centerX;
+        this.centerZ = centerZ;
+        this.radius = radius;
+        this.total = (2L * radius + 1) * (2L * radius + 1);
+    }
+
+    public WorldServer getWorld() {
+        return this.world;
+    }
+
+    public int getCenterX() {
+        return this.centerX;
+    }
+
+    public int getCenterZ() {
+        return this.centerZ;
+    }
+
+    public int getRadius() {
+        return this.radius;
+    }
+
+    public long getTotal() {
+        return this.total;
+    }
+
+    public long getProgress() {
+        return this.index;
+    }
+
+    /**
+     * Gets the number of chunks this job generated, the other chunks of its
+     * progress already existed.
+     *
+     * @return The number of generated chunks
+     */
+    public long getGenerated() {
+        return this.generated;
+    }
+
+    public boolean isPaused() {
+        return this.paused;
+    }
+
+    void setPaused(final boolean paused) {
+        this.paused = paused;
+    }
+
+    public boolean isDone() {
+        return this.index >= this.total;
+    }
+
+    /**
+     * Generates the next chunk of the spiral, or skips it if it exists.
+     */
+    void step() {
+        final ChunkProviderServer chunkProvider = this.world.getChunkProvider();
+        final long pos = this.getPosition(this.index++);
+        final int x = (int) pos;
+        final int z = (int) (pos >> 32);
+        if (chunkProvider.getLoadedChunk(x, z) == null && !this.isGenerated(chunkProvider, x, z)) {
+            chunkProvider.provideChunk(x, z);
+            this.loadedChunks.enqueue(pos);
+            this.generated++;
+        }
+        this.prepareAhead(chunkProvider);
+        this.unloadFinishedChunks(chunkProvider, this.isDone());
+    }
+
+    private boolean isGenerated(final ChunkProviderServer chunkProvider, final int x, final int z) {
+        return chunkProvider.chunkLoader instanceof AnvilChunkLoader && ((AnvilChunkLoader) chunkProvider.chunkLoader).isChunkGeneratedAt(x, z);
+    }
+
+    private void prepareAhead(final ChunkProviderServer chunkProvider) {
+        if (!GenerationWorkers.isEnabled() || !(((WorldServerBridge) this.world).bridge$getSpongeGenerator() instanceof SpongeChunkGeneratorForge)) {
+            return;
+        }
+        final SpongeChunkGeneratorForge generator = (SpongeChunkGeneratorForge) ((WorldServerBridge) this.world).bridge$getSpongeGenerator();
+        this.prepareIndex = Math.max(this.prepareIndex, this.index);
+        while (this.prepareIndex < Math.min(this.index + PREPARE_AHEAD, this.total)) {
+            final long pos = this.getPosition(this.prepareIndex++);
+            final int x = (int) pos;
+            final int z = (int) (pos >> 32);
+            if (chunkProvider.getLoadedChunk(x, z) == null && !this.isGenerated(chunkProvider, x, z) && !generator.preparePrimer(x, z)) {
+                // Retry once there is room for more primers
+                this.prepareIndex--;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Queues the unload of the chunks whose neighbors were all generated, a
+     * chunk can only be populated while its neighbors are loaded. The
+     * neighbors of a chunk are at most one ring of the spiral further out.
+     *
+     * @param chunkProvider The chunk provider of the world
+     * @param all Whether to unload all loaded chunks, when the job stops
+     */
+    void unloadFinishedChunks(final ChunkProviderServer chunkProvider, final boolean all) {
+        final int currentRing = this.index == 0 ? 0 : this.getRing(this.getPosition(this.index - 1));
+        while (!this.loadedChunks.isEmpty()) {
+            final long pos = this.loadedChunks.firstLong();
+            if (!all && this.getRing(pos) + 2 > currentRing) {
+                return;
+            }
+            this.loadedChunks.dequeueLong();
+            final int x = (int) pos;
+            final int z = (int) (pos >> 32);
+            final Chunk chunk = chunkProvider.getLoadedChunk(x, z);
+            if (chunk != null && !this.world.getPlayerChunkMap().contains(x, z)) {
+                chunkProvider.queueUnload(chunk);
+            }
+        }
+    }
+
+    private int getRing(final long pos) {
+        return Math.max(Math.abs((int) pos - this.centerX), Math.abs((int) (pos >> 32) - this.centerZ));
+    }
+
+    /**
+     * Gets the chunk at an index of the square spiral around the center,
+     * which walks each ring starting next to its north east corner.
+     *
+     * @param index The index in the spiral
+     * @return The chunk position, as in {@link ChunkPos#asLong(int, int)}
+     */
+    private long getPosition(final long index) {
+        if (index == 0) {
+            return ChunkPos.asLong(this.centerX, this.centerZ);
+        }
+        final int ring = (int) ((Math.sqrt(index) + 1) / 2);
+        final long ringStart = (2L * ring - 1) * (2L * ring - 1);
+        final int side = (int) ((index - ringStart) / (2 * ring));
+        final int offset = (int) ((index - ringStart) % (2 * ring));
+        final int x;
+        final int z;
+        switch (side) {
+            case 0:
+                x = ring;
+                z = -ring + 1 + offset;
+                break;
+            case 1:
+                x = ring - 1 - offset;
+                z = ring;
+                break;
+            case 2:
+                x = -ring;
+                z = ring - 1 - offset;
+                break;
+            default:
+                x = -ring + 1 + offset;
+                z = -ring;
+                break;
+        }
+        return ChunkPos.asLong(this.centerX + x, this.centerZ + z);
+    }
+
+    private static Path getProgressFile(final WorldServer world) {
+        return ((org.spongepowered.api.world.World) world).getDirectory().resolve(PROGRESS_FILE);
+    }
+
+    void save() throws IOException {
+        final JsonObject object = new JsonObject();
+        object.addProperty("centerX", this.centerX);
+        object.addProperty("centerZ", this.centerZ);
+        object.addProperty("radius", this.radius);
+        object.addProperty("progress", this.index);
+        object.addProperty("generated", this.generated);
+        object.addProperty("paused", this.paused);
+        try (Writer writer = Files.newBufferedWriter(getProgressFile(this.world), StandardCharsets.UTF_8)) {
+            new Gson().toJson(object, writer);
+        }
+    }
+
+    void deleteProgress() throws IOException {
+        Files.deleteIfExists(getProgressFile(this.world));
+    }
+
+    /**
+     * Loads the stored progress of the pregeneration of a world.
+     *
+     * @param world The world
+     * @return The job, or null if the world has no unfinished pregeneration
+     * @throws IOException If the progress can't be read
+     */
+    @Nullable
+    static PregenerationJob load(final WorldServer world) throws IOException {
+        final Path path = getProgressFile(world);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            final JsonObject object = new Gson().fromJson(reader, JsonObject.class);
+            final PregenerationJob job = new PregenerationJob(world, object.get("centerX").getAsInt(), object.get("centerZ").getAsInt(),
+                object.get("radius").getAsInt());
+            job.index = Math.min(object.get("progress").getAsLong(), job.total);
+            job.generated = object.get("generated").getAsLong();
+            job.paused = object.get("paused").getAsBoolean();
+            return job;
+        } catch (RuntimeException e) {
+            // Gson reports missing or malformed values with various unchecked exceptions
+            throw new IOException("Malformed pregeneration progress in " + path, e);
+        }
+    }
+}
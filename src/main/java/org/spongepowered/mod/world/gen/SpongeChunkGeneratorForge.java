@@ -30,8 +30,12 @@
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
 import net.minecraft.block.BlockFalling;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.world.DimensionType;
 import net.minecraft.world.World;
 import net.minecraft.world.chunk.ChunkPrimer;
@@ -91,6 +95,7 @@
 import org.spongepowered.api.world.gen.populator.Shrub;
 import org.spongepowered.api.world.gen.populator.WaterLily;
 import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.SpongeImplHooks;
 import org.spongepowered.common.bridge.TimingBridge;
 import org.spongepowered.common.bridge.world.WorldServerBridge;
 import org.spongepowered.common.bridge.world.WorldBridge;
@@ -101,6 +106,8 @@
 import org.spongepowered.common.event.tracking.phase.generation.PopulatorPhaseContext;
 import org.spongepowered.common.relocate.co.aikar.timings.SpongeTimingsFactory;
 import org.spongepowered.common.util.VecHelper;
+import org.spongepowered.common.util.gen.ChunkPrimerBuffer;
+import org.spongepowered.common.util.gen.ObjectArrayMutableBiomeBuffer;
 import org.spongepowered.common.world.extent.SoftBufferExtentViewDownsize;
 import org.spongepowered.common.world.gen.InternalPopulatorTypes;
 import org.spongepowered.common.world.gen.SpongeChunkGenerator;
@@ -114,9 +121,13 @@
 
 import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nullable;
 
@@ -126,8 +137,16 @@
  */
 public final class SpongeChunkGeneratorForge extends SpongeChunkGenerator {
 
+    private static final Vector3i CHUNK_BIOME_SIZE = new Vector3i(16, 1, 16);
+    private static final int MAX_PREPARED_PRIMERS = Integer.getInteger("sponge.generation.maxPrepared", 128);
+    // Primers of chunks that weren't generated within a minute were most likely requested by players who left
+    private static final long PRIMER_EXPIRY_TICKS = 1200;
+
     @Nullable private IChunkGenerator moddedGeneratorFallback = null;
 
+    // Only accessed from the server thread
+    private final Long2ObjectMap<PreparedPrimer> preparedPrimers = new Long2ObjectOpenHashMap<>();
+
     public SpongeChunkGeneratorForge(final World world, final GenerationPopulator generationPopulator, final BiomeGenerator biomeGenerator) {
         super(world, generationPopulator, biomeGenerator);
 
@@ -155,6 +174,113 @@ public void replaceBiomeBlocks(final World world, final Random rand, final int x
         super.replaceBiomeBlocks(world, rand, x, z, chunk, biomes);
     }
 
+    @Override
+    public net.minecraft.world.chunk.Chunk generateChunk(final int chunkX, final int chunkZ) {
+        if (!this.preparedPrimers.isEmpty() && SpongeImplHooks.isMainThread()) {
+            final PreparedPrimer prepared = this.preparedPrimers.remove(ChunkPos.asLong(chunkX, chunkZ));
+            if (prepared != null && prepared.claim()) {
+                final ChunkPrimer primer = prepared.primer;
+                this.finishPrimer(chunkX, chunkZ, primer, prepared.biomes);
+                final net.minecraft.world.chunk.Chunk chunk = new net.minecraft.world.chunk.Chunk(this.world, primer, chunkX, chunkZ);
+                prepared.biomes.fill(chunk.getBiomeArray());
+                chunk.generateSkylightMap();
+                return chunk;
+            }
+        }
+        return super.generateChunk(chunkX, chunkZ);
+    }
+
+    /**
+     * Gets whether the base terrain of this generator can be generated by the
+     * {@link GenerationWorkers}. Always false for the vanilla generators,
+     * only a plugin's base populator and biome generator can opt in.
+     *
+     * @return True if the base terrain can be generated off-thread
+     */
+    public boolean isThreadSafe() {
+        return this.moddedGeneratorFallback == null
+            && this.getBaseGenerationPopulator() instanceof ThreadSafeGenerator
+            && this.getBiomeGenerator() instanceof ThreadSafeGenerator;
+    }
+
+    /**
+     * Starts generating the base terrain of a chunk on the
+     * {@link GenerationWorkers}, so {@link #generateChunk(int, int)} only has
+     * to assemble the chunk once it is requested. Only called from the server
+     * thread, for chunks that were never generated.
+     *
+     * @param chunkX The chunk x position
+     * @param chunkZ The chunk z position
+     * @return True if the terrain of the chunk is being prepared
+     */
+    public boolean preparePrimer(final int chunkX, final int chunkZ) {
+        if (!GenerationWorkers.isEnabled() || !this.isThreadSafe()) {
+            return false;
+        }
+        final long pos = ChunkPos.asLong(chunkX, chunkZ);
+        if (this.preparedPrimers.containsKey(pos)) {
+            return true;
+        }
+        final long now = this.world.getTotalWorldTime();
+        if (this.preparedPrimers.size() >= MAX_PREPARED_PRIMERS) {
+            for (final ObjectIterator<PreparedPrimer> iterator = this.preparedPrimers.values().iterator(); iterator.hasNext(); ) {
+                final PreparedPrimer prepared = iterator.next();
+                if (now - prepared.requestTick > PRIMER_EXPIRY_TICKS) {
+                    prepared.cancel();
+                    iterator.remove();
+                }
+            }
+            if (this.preparedPrimers.size() >= MAX_PREPARED_PRIMERS) {
+                return false;
+            }
+        }
+        final PreparedPrimer prepared = new PreparedPrimer(chunkX, chunkZ, now);
+        this.preparedPrimers.put(pos, prepared);
+        GenerationWorkers.execute(prepared);
+        return true;
+    }
+
+    /**
+     * Generates the biomes and the base terrain of a chunk the same way as
+     * {@link SpongeChunkGenerator#generateChunk(int, int)}, but with its own
+     * buffers so it can run on a generation worker.
+     */
+    private ChunkPrimer createPrimer(final int chunkX, final int chunkZ, final ObjectArrayMutableBiomeBuffer biomes) {
+        this.getBiomeGenerator().generateBiomes(biomes);
+        final ChunkPrimer primer = new ChunkPrimer();
+        this.getBaseGenerationPopulator().populate((org.spongepowered.api.world.World) this.world, new ChunkPrimerBuffer(primer, chunkX, chunkZ),
+            biomes.getImmutableBiomeCopy());
+        return primer;
+    }
+
+    /**
+     * Runs the rest of {@link SpongeChunkGenerator#generateChunk(int, int)}
+     * on a prepared primer. The {@link ChunkGeneratorEvent.ReplaceBiomeBlocks}
+     * listeners of mods and the generation populators aren't known to be
+     * thread safe, so they run on the server thread.
+     */
+    private void finishPrimer(final int chunkX, final int chunkZ, final ChunkPrimer primer, final ObjectArrayMutableBiomeBuffer biomes) {
+        final org.spongepowered.api.world.World spongeWorld = (org.spongepowered.api.world.World) this.world;
+        final Random random = new Random(chunkX * 341873128712L + chunkZ * 132897987541L);
+        final ImmutableBiomeVolume biomeBuffer = biomes.getImmutableBiomeCopy();
+        final ChunkPrimerBuffer blockBuffer = new ChunkPrimerBuffer(primer, chunkX, chunkZ);
+        this.replaceBiomeBlocks(this.world, random, chunkX, chunkZ, primer, biomeBuffer);
+        for (final GenerationPopulator populator : this.getGenerationPopulators()) {
+            populator.populate(spongeWorld, blockBuffer, biomeBuffer);
+        }
+        final Set<BiomeType> uniqueBiomes = new LinkedHashSet<>();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                uniqueBiomes.add(biomes.getBiome(chunkX * 16 + x, 0, chunkZ * 16 + z));
+            }
+        }
+        for (final BiomeType biome : uniqueBiomes) {
+            for (final GenerationPopulator populator : this.getBiomeSettings(biome).getGenerationPopulators()) {
+                populator.populate(spongeWorld, blockBuffer, biomeBuffer);
+            }
+        }
+    }
+
     @SuppressWarnings("deprecation")
     @Override
     public void populate(final int chunkX, final int chunkZ) {
@@ -514,4 +640,71 @@ public String toString() {
                 .add("world", this.world)
                 .toString();
     }
+
+    private final class PreparedPrimer implements Runnable {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int CANCELLED = 2;
+
+        final int chunkX;
+        final int chunkZ;
+        final long requestTick;
+        final ObjectArrayMutableBiomeBuffer biomes;
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private final CountDownLatch done = new CountDownLatch(1);
+        @Nullable volatile ChunkPrimer primer;
+
+        PreparedPrimer(final int chunkX, final int chunkZ, final long requestTick) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.requestTick = requestTick;
+            this.biomes = new ObjectArrayMutableBiomeBuffer(new Vector3i(chunkX * 16, 0, chunkZ * 16), CHUNK_BIOME_SIZE);
+        }
+
+        @Override
+        public void run() {
+            if (!this.state.compareAndSet(QUEUED, RUNNING)) {
+                return;
+            }
+            try {
+                this.primer = SpongeChunkGeneratorForge.this.createPrimer(this.chunkX, this.chunkZ, this.biomes);
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().warn("Failed to generate the terrain of chunk ({}, {}) of {} off-thread, it will be generated on the "
+                    + "server thread instead", this.chunkX, this.chunkZ, SpongeChunkGeneratorForge.this.world, t);
+            } finally {
+                this.done.countDown();
+            }
+        }
+
+        void cancel() {
+            this.state.compareAndSet(QUEUED, CANCELLED);
+        }
+
+        /**
+         * Takes the prepared terrain, waiting for it if a worker is busy with
+         * it. Terrain that no worker started on yet is cancelled, as
+         * generating it on the server thread is at least as fast as waiting.
+         *
+         * @return True if the primer was prepared
+         */
+        boolean claim() {
+            if (this.state.compareAndSet(QUEUED, CANCELLED)) {
+                return false;
+            }
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.done.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return this.primer != null;
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import org.spongepowered.api.world.gen.BiomeGenerator;
+import org.spongepowered.api.world.gen.GenerationPopulator;
+
+/**
+ * Marks the base {@link GenerationPopulator} or the {@link BiomeGenerator}
+ * of a world as safe to run on the terrain generation workers.
+ *
+ * <p>Implementations must not keep mutable state shared between chunks and
+ * must not access the world they are given beyond its seed and properties,
+ * as several chunks of the same world are generated concurrently. Everything
+ * after the base terrain, including replaceBiomeBlocks with its Forge event
+ * and the other generation populators, still runs on the server thread.</p>
+ *
+ * <p>Nothing in Sponge implements this. The vanilla terrain generators keep
+ * their noise buffers and random in fields, and the vanilla biome
+ * generators go through the global, unsynchronized {@code IntCache}, so
+ * neither can be flagged. Until a plugin providing its own base populator
+ * and biome generator implements this, {@link GenerationWorkers} are never
+ * used, even with {@code sponge.generation.async} set.</p>
+ *
+ * @see GenerationWorkers
+ */
+public interface ThreadSafeGenerator {
+
+}
@@ -0,0 +1,302 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.WorldServer;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.channel.MessageReceiver;
+import org.spongepowered.common.SpongeImpl;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * Runs the {@link PregenerationJob}s of the loaded worlds from the tick of
+ * their chunk providers.
+ *
+ * <p>The jobs of all worlds share a time budget per tick, the target tick
+ * time from the {@code sponge.pregen.targetMspt} system property (45ms by
+ * default) minus the smoothed time the rest of the server needed during
+ * the last ticks. Pregeneration slows down as soon as the server gets
+ * busier, and stops completely while the server can't keep up.</p>
+ */
+public final class WorldPregenerator {
+
+    private static final long TARGET_NANOS = Integer.getInteger("sponge.pregen.targetMspt", 45) * 1000000L;
+    private static final int SAVE_INTERVAL_TICKS = 1200;
+    private static final int REPORT_INTERVAL_TICKS = 600;
+
+    // Keyed by world unique id, jobs are removed when their world unloads
+    private static final Map<UUID, PregenerationJob> jobs = new HashMap<>();
+    private static final Map<UUID, WeakReference<MessageReceiver>> listeners = new HashMap<>();
+
+    private static int lastTick = -1;
+    private static long smoothedOtherNanos;
+    private static long spentNanos;
+    private static long remainingNanos;
+
+    private WorldPregenerator() {
+    }
+
+    /**
+     * Starts the pregeneration of a square area of a world, replacing any
+     * pregeneration of the world.
+     *
+     * @param world The world
+     * @param centerX The chunk x position of the center
+     * @param centerZ The chunk z position of the center
+     * @param radius The radius in chunks
+     * @param receiver The receiver of progress reports
+     * @return The job
+     */
+    public static PregenerationJob start(final WorldServer world, final int centerX, final int centerZ, final int radius,
+        @Nullable final MessageReceiver receiver) {
+        final PregenerationJob job = new PregenerationJob(world, centerX, centerZ, radius);
+        final PregenerationJob previous = jobs.put(getId(world), job);
+        if (previous != null) {
+            previous.unloadFinishedChunks(world.getChunkProvider(), true);
+        }
+        setReceiver(world, receiver);
+        save(job);
+        return job;
+    }
+
+    /**
+     * Resumes the paused pregeneration of a world.
+     *
+     * @param world The world
+     * @param receiver The receiver of progress reports
+     * @return The job, or null if the world has no unfinished pregeneration
+     */
+    @Nullable
+    public static PregenerationJob resume(final WorldServer world, @Nullable final MessageReceiver receiver) {
+        PregenerationJob job = jobs.get(getId(world));
+        if (job == null) {
+            job = load(world);
+            if (job == null) {
+                return null;
+            }
+            jobs.put(getId(world), job);
+        }
+        job.setPaused(false);
+        setReceiver(world, receiver);
+        save(job);
+        return job;
+    }
+
+    /**
+     * Pauses the pregeneration of a world, it isn't resumed when the world
+     * loads again.
+     *
+     * @param world The world
+     * @return The job, or null if the world isn't pregenerated
+     */
+    @Nullable
+    public static PregenerationJob pause(final WorldServer world) {
+        final PregenerationJob job = jobs.get(getId(world));
+        if (job != null) {
+            job.setPaused(true);
+            job.unloadFinishedChunks(world.getChunkProvider(), true);
+            save(job);
+        }
+        return job;
+    }
+
+    /**
+     * Cancels the pregeneration of a world and removes its progress.
+     *
+     * @param world The world
+     * @return True if the world was pregenerated
+     */
+    public static boolean cancel(final WorldServer world) {
+        final PregenerationJob job = jobs.remove(getId(world));
+        listeners.remove(getId(world));
+        if (job != null) {
+            job.unloadFinishedChunks(world.getChunkProvider(), true);
+            delete(job);
+        }
+        return job != null;
+    }
+
+    public static Collection<PregenerationJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /**
+     * Resumes the pregeneration of a world that was interrupted by a
+     * shutdown.
+     *
+     * @param world The loaded world
+     */
+    public static void onWorldLoad(final WorldServer world) {
+        if (world.isRemote || jobs.containsKey(getId(world))) {
+            return;
+        }
+        final PregenerationJob job = load(world);
+        if (job != null && !job.isPaused()) {
+            jobs.put(getId(world), job);
+            SpongeImpl.getLogger().info("Resuming the pregeneration of {} at {}/{} chunks", getName(world), job.getProgress(), job.getTotal());
+        }
+    }
+
+    public static void onWorldUnload(final WorldServer world) {
+        final PregenerationJob job = jobs.remove(getId(world));
+        listeners.remove(getId(world));
+        if (job != null) {
+            save(job);
+        }
+    }
+
+    /**
+     * Generates chunks of the world's job until the time budget of this tick
+     * is used up. Called at the start of the tick of the world's chunk
+     * provider, so the chunks unloaded by the job are unloaded in the same
+     * tick.
+     *
+     * @param world The world
+     */
+    public static void tick(final WorldServer world) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+        final PregenerationJob job = jobs.get(getId(world));
+        if (job == null || job.isPaused()) {
+            return;
+        }
+        if (world.disableLevelSaving) {
+            // With saving off the chunk provider doesn't unload chunks, generating more would only fill the memory
+            if (world.getMinecraftServer().getTickCounter() % REPORT_INTERVAL_TICKS == 0) {
+                report(world, Text.of("Pregeneration of ", getName(world), " is waiting for saving to be turned back on."));
+            }
+            return;
+        }
+        updateBudget(world.getMinecraftServer());
+        while (remainingNanos > 0 && !job.isDone()) {
+            final long start = System.nanoTime();
+            job.step();
+            final long spent = System.nanoTime() - start;
+            remainingNanos -= spent;
+            spentNanos += spent;
+        }
+
+        final int tick = world.getMinecraftServer().getTickCounter();
+        if (job.isDone()) {
+            jobs.remove(getId(world));
+            delete(job);
+            report(world, Text.of("Pregeneration of ", getName(world), " finished, generated ", job.getGenerated(), " of ",
+                job.getTotal(), " chunks."));
+            listeners.remove(getId(world));
+        } else if (tick % REPORT_INTERVAL_TICKS == 0) {
+            report(world, Text.of("Pregeneration of ", getName(world), ": ", job.getProgress(), "/", job.getTotal(), " chunks (",
+                String.format("%.1f%%", job.getProgress() * 100.0 / job.getTotal()), "), ", String.format("%.1fms", getBudgetMillis()),
+                " per tick"));
+        }
+        if (tick % SAVE_INTERVAL_TICKS == 0) {
+            save(job);
+        }
+    }
+
+    private static void updateBudget(final MinecraftServer server) {
+        final int tick = server.getTickCounter();
+        if (tick == lastTick) {
+            return;
+        }
+        // The duration of the previous tick, without the time spent pregenerating
+        final long otherNanos = Math.max(0, server.tickTimeArray[(tick + 99) % 100] - spentNanos);
+        smoothedOtherNanos = lastTick == -1 ? otherNanos : (smoothedOtherNanos * 7 + otherNanos) / 8;
+        lastTick = tick;
+        spentNanos = 0;
+        remainingNanos = TARGET_NANOS - smoothedOtherNanos;
+    }
+
+    /**
+     * Gets the time the jobs may currently spend per tick.
+     *
+     * @return The budget in milliseconds
+     */
+    public static double getBudgetMillis() {
+        return Math.max(0, TARGET_NANOS - smoothedOtherNanos) / 1000000.0;
+    }
+
+    private static void setReceiver(final WorldServer world, @Nullable final MessageReceiver receiver) {
+        if (receiver == null) {
+            listeners.remove(getId(world));
+        } else {
+            listeners.put(getId(world), new WeakReference<>(receiver));
+        }
+    }
+
+    private static void report(final WorldServer world, final Text message) {
+        SpongeImpl.getLogger().info(message.toPlain());
+        final WeakReference<MessageReceiver> reference = listeners.get(getId(world));
+        final MessageReceiver receiver = reference == null ? null : reference.get();
+        // The console already got the message through the log
+        if (receiver != null && receiver != SpongeImpl.getGame().getServer().getConsole()) {
+            receiver.sendMessage(message);
+        }
+    }
+
+    @Nullable
+    private static PregenerationJob load(final WorldServer world) {
+        try {
+            return PregenerationJob.load(world);
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to load the pregeneration progress of {}", getName(world), e);
+            return null;
+        }
+    }
+
+    private static void save(final PregenerationJob job) {
+        try {
+            job.save();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to save the pregeneration progress of {}", getName(job.getWorld()), e);
+        }
+    }
+
+    private static void delete(final PregenerationJob job) {
+        try {
+            job.deleteProgress();
+        } catch (IOException e) {
+            SpongeImpl.getLogger().error("Failed to delete the pregeneration progress of {}", getName(job.getWorld()), e);
+        }
+    }
+
+    private static UUID getId(final WorldServer world) {
+        return ((org.spongepowered.api.world.World) world).getUniqueId();
+    }
+
+    public static String getName(final WorldServer world) {
+        return ((org.spongepowered.api.world.World) world).getName();
+    }
+}